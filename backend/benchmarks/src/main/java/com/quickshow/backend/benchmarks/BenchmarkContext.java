@@ -0,0 +1,61 @@
+package com.quickshow.backend.benchmarks;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.repository.MovieRepository;
+import com.quickshow.backend.repository.ShowRepository;
+import com.quickshow.backend.repository.inmemory.InMemoryMovieRepository;
+import com.quickshow.backend.repository.inmemory.InMemoryShowRepository;
+import com.quickshow.backend.repository.inmemory.InMemoryTheaterRepository;
+import com.quickshow.backend.repository.inmemory.InMemoryTicketRepository;
+import com.quickshow.backend.service.BookingMetrics;
+import com.quickshow.backend.service.CatalogCache;
+import com.quickshow.backend.service.MovieService;
+import com.quickshow.backend.service.SeatEventBroadcaster;
+import com.quickshow.backend.service.SeatInventoryService;
+import com.quickshow.backend.service.ShowService;
+import com.quickshow.backend.service.SuggestService;
+import com.quickshow.backend.service.TheaterService;
+import com.quickshow.backend.service.TicketBookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Map;
+
+/**
+ * The real services wired by Spring on the {@code inmemory} repositories, loaded with the given
+ * documents. {@code @Value} fields get their defaults; scheduling and startup events are not
+ * enabled, so benchmarks load any index they need themselves. Meters go to a Prometheus
+ * registry, as in production, unless another registry is given.
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+    BenchmarkContext(Map<String, Movie> movies, Map<String, Show> shows) {
+        this(movies, shows, new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+    }
+
+    BenchmarkContext(Map<String, Movie> movies, Map<String, Show> shows, MeterRegistry meterRegistry) {
+        context.getEnvironment().setActiveProfiles("inmemory");
+        context.registerBean(MeterRegistry.class, () -> meterRegistry);
+        context.register(InMemoryMovieRepository.class, InMemoryShowRepository.class, InMemoryTheaterRepository.class,
+                InMemoryTicketRepository.class);
+        context.register(BookingMetrics.class, CatalogCache.class, SuggestService.class, MovieService.class, TheaterService.class,
+                SeatInventoryService.class, SeatEventBroadcaster.class, ShowService.class, TicketBookingService.class);
+        context.refresh();
+        get(MovieRepository.class).saveAll(movies.values());
+        get(ShowRepository.class).saveAll(shows.values());
+    }
+
+    <T> T get(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
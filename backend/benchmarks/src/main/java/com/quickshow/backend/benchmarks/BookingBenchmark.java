@@ -0,0 +1,104 @@
+package com.quickshow.backend.benchmarks;
+
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.TicketRepository;
+import com.quickshow.backend.service.ShowSeatMap;
+import com.quickshow.backend.service.TicketBookingService;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TicketBookingService#createTicket} for two random adjacent seats, released and deleted
+ * again right after so the halls never fill up and the heap stays flat. With one show every
+ * thread fights over the same seat map; a taken seat makes the booking fail fast, which is
+ * counted like any other operation. {@code metrics=none} swaps the Prometheus registry for one
+ * whose meters do nothing, which shows what the booking counters cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingBenchmark {
+
+    private static final int TOTAL_SEATS = 400;
+
+    @Param({ "1", "64" })
+    public int shows;
+
+    @Param({ "prometheus", "none" })
+    public String metrics;
+
+    private BenchmarkContext context;
+    private TicketBookingService bookingService;
+    private TicketRepository ticketRepository;
+    private String[] showIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(Map.of(), Catalog.shows(shows, TOTAL_SEATS), "none".equals(metrics)
+                ? new CompositeMeterRegistry() : new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        bookingService = context.get(TicketBookingService.class);
+        ticketRepository = context.get(TicketRepository.class);
+        showIds = Catalog.shows(shows, TOTAL_SEATS).keySet().toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Ticket bookAndRelease() {
+        return bookTwoSeats();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Ticket bookAndReleaseContended() {
+        return bookTwoSeats();
+    }
+
+    private Ticket bookTwoSeats() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String showId = showIds[random.nextInt(showIds.length)];
+        int first = random.nextInt(TOTAL_SEATS - 1);
+        Ticket ticket = new Ticket();
+        ticket.setUserId("user-" + random.nextInt(10_000));
+        ticket.setShowId(showId);
+        ticket.setMovieId("movie-1");
+        ticket.setTheaterId("theater-1");
+        ticket.setSeatNumbers(List.of(ShowSeatMap.label(first, Catalog.SEATS_PER_ROW),
+                ShowSeatMap.label(first + 1, Catalog.SEATS_PER_ROW)));
+        ticket.setTotalAmount(new BigDecimal("25.98"));
+        Ticket booked = bookingService.createTicket(ticket);
+        if (booked != null) {
+            bookingService.releaseReservedSeats(showId, booked.getSeatNumbers());
+            ticketRepository.deleteById(booked.getId());
+        }
+        return booked;
+    }
+}
@@ -0,0 +1,125 @@
+package com.quickshow.backend.benchmarks;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.service.ShowSeatMap;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic fixture documents, so two runs of a benchmark see the same data.
+ */
+final class Catalog {
+
+    static final int SEATS_PER_ROW = 10;
+
+    private static final String[] WORDS = { "silent", "broken", "crimson", "midnight", "golden", "electric", "frozen",
+            "horizon", "empire", "river", "storm", "kingdom", "signal", "garden", "protocol", "harbor", "shadow",
+            "frontier", "machine", "legacy", "circuit", "monsoon", "verdict", "orchard", "savage", "hollow" };
+    private static final String[] NAMES = { "Aarav Sharma", "Maya Iyer", "Rohan Khan", "Priya Patel", "Kabir Reddy",
+            "Ananya Nair", "Vikram Singh", "Sara Das", "Arjun Menon", "Leela Gupta", "Daniel Kapoor", "Emma Rao" };
+    private static final String[] GENRES = { "Action", "Drama", "Comedy", "Thriller", "Sci-Fi", "Romance", "Horror" };
+    private static final String[] LANGUAGES = { "English", "Hindi", "Tamil", "Telugu", "Malayalam", "Korean" };
+
+    private Catalog() {
+    }
+
+    static Map<String, Movie> movies(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<String, Movie> movies = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Movie movie = new Movie();
+            movie.setId(new ObjectId(new Date(1_600_000_000_000L), i).toHexString());
+            movie.setTitle(capitalize(pick(random, WORDS)) + " " + capitalize(pick(random, WORDS))
+                    + (random.nextInt(4) == 0 ? " " + (2 + random.nextInt(3)) : ""));
+            movie.setDescription("A story of the " + pick(random, WORDS) + " " + pick(random, WORDS)
+                    + " and the " + pick(random, WORDS) + " " + pick(random, WORDS) + ".");
+            movie.setGenre(pick(random, GENRES));
+            movie.setLanguage(pick(random, LANGUAGES));
+            movie.setDirector(pick(random, NAMES));
+            movie.setCast(List.of(pick(random, NAMES), pick(random, NAMES), pick(random, NAMES)));
+            movie.setDuration(90 + random.nextInt(90));
+            movie.setRating("PG-13");
+            movie.setRatingScore(Math.round((4 + random.nextDouble() * 5.5) * 10) / 10.0);
+            movie.setPosterUrl("https://images.example.com/posters/" + i + ".jpg");
+            movie.setActive(true);
+            movie.setReleaseDate(LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(random.nextInt(365)));
+            movie.setCreatedAt(movie.getReleaseDate());
+            movie.setUpdatedAt(movie.getReleaseDate());
+            movies.put(movie.getId(), movie);
+        }
+        return movies;
+    }
+
+    static Map<String, Show> shows(int count, int totalSeats) {
+        Map<String, Show> shows = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Show show = new Show();
+            show.setId(new ObjectId(new Date(1_600_000_100_000L), i).toHexString());
+            show.setMovieId("movie-" + (i % 50));
+            show.setTheaterId("theater-" + (i % 20));
+            show.setScreenNumber(String.valueOf(1 + i % 6));
+            show.setShowDate(LocalDate.of(2026, 1, 1).plusDays(i % 14));
+            show.setShowTime(LocalTime.of(10, 0).plusMinutes(195L * (i % 4)));
+            show.setTicketPrice(new BigDecimal("12.99"));
+            show.setTotalSeats(totalSeats);
+            show.setAvailableSeats(totalSeats);
+            show.setBookedSeats(new ArrayList<>());
+            show.setShowType("2D");
+            show.setActive(true);
+            show.setCreatedAt(LocalDateTime.of(2025, 12, 1, 0, 0));
+            show.setUpdatedAt(show.getCreatedAt());
+            shows.put(show.getId(), show);
+        }
+        return shows;
+    }
+
+    static List<Ticket> tickets(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int seats = 1 + random.nextInt(4);
+            List<String> seatNumbers = new ArrayList<>(seats);
+            int first = random.nextInt(200 - seats);
+            for (int s = 0; s < seats; s++) {
+                seatNumbers.add(ShowSeatMap.label(first + s, SEATS_PER_ROW));
+            }
+            Ticket ticket = new Ticket();
+            ticket.setId(new ObjectId(new Date(1_600_000_200_000L), i).toHexString());
+            ticket.setUserId("user-" + random.nextInt(10_000));
+            ticket.setShowId("show-" + random.nextInt(1_000));
+            ticket.setMovieId("movie-" + random.nextInt(50));
+            ticket.setTheaterId("theater-" + random.nextInt(20));
+            ticket.setSeatNumbers(seatNumbers);
+            ticket.setTotalAmount(new BigDecimal("12.99").multiply(BigDecimal.valueOf(seats)));
+            ticket.setBookingStatus("CONFIRMED");
+            ticket.setPaymentStatus("PAID");
+            ticket.setPaymentMethod("CARD");
+            ticket.setBookingDate(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(random.nextInt(10_000)));
+            ticket.setShowDateTime(ticket.getBookingDate().plusDays(2));
+            ticket.setCreatedAt(ticket.getBookingDate());
+            ticket.setUpdatedAt(ticket.getBookingDate());
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
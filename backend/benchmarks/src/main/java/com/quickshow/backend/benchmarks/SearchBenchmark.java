@@ -0,0 +1,68 @@
+package com.quickshow.backend.benchmarks;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MovieService#searchMovies} against the in-memory index: an exact term, a prefix, a
+ * typo and a two-word query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({ "1000", "20000" })
+    public int movies;
+
+    @Param({ "storm", "kingd", "horizn", "golden river" })
+    public String query;
+
+    private BenchmarkContext context;
+    private MovieService movieService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(Catalog.movies(movies, 42), Map.of());
+        movieService = context.get(MovieService.class);
+        movieService.rebuildSearchIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<Movie> search() {
+        return movieService.searchMovies(query, 20);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<Movie> searchContended() {
+        return movieService.searchMovies(query, 20);
+    }
+}
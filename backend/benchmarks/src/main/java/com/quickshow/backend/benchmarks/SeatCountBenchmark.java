@@ -0,0 +1,70 @@
+package com.quickshow.backend.benchmarks;
+
+import com.quickshow.backend.service.ShowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ShowService#updateAvailableSeats} taking two seats and giving them back, which also
+ * rewrites the show's entry in the showtime index.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeatCountBenchmark {
+
+    @Param({ "1", "64" })
+    public int shows;
+
+    private BenchmarkContext context;
+    private ShowService showService;
+    private String[] showIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext(Map.of(), Catalog.shows(shows, 400));
+        showService = context.get(ShowService.class);
+        showIds = Catalog.shows(shows, 400).keySet().toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean takeAndReturn() {
+        return takeAndReturnTwoSeats();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean takeAndReturnContended() {
+        return takeAndReturnTwoSeats();
+    }
+
+    private boolean takeAndReturnTwoSeats() {
+        String showId = showIds[ThreadLocalRandom.current().nextInt(showIds.length)];
+        return showService.updateAvailableSeats(showId, 2) && showService.updateAvailableSeats(showId, -2);
+    }
+}
@@ -0,0 +1,90 @@
+package com.quickshow.backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of list responses, with an ObjectMapper configured the way Spring Boot
+ * configures the one behind the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "50", "500" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Movie> movies;
+    private List<Show> shows;
+    private List<Ticket> tickets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        movies = new ArrayList<>(Catalog.movies(size, 42).values());
+        shows = new ArrayList<>(Catalog.shows(size, 200).values());
+        tickets = Catalog.tickets(size, 42);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] movies() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] moviesContended() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] shows() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(shows);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] showsContended() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(shows);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] tickets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] ticketsContended() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+}
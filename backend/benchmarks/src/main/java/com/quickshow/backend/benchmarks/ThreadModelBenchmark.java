@@ -0,0 +1,106 @@
+package com.quickshow.backend.benchmarks;
+
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.service.ShowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of {@code concurrency} simultaneous requests, run the two ways the web layer can run
+ * them. {@code platform} uses Tomcat's default pool of 200 threads; {@code virtual} uses one
+ * virtual thread per request ({@code spring.threads.virtual.enabled}). Each request looks up a
+ * show through ShowService, then sleeps {@code ioMillis} to stand in for the Mongo round trip
+ * that the in-memory repositories don't have.
+ *
+ * <p>The score is the time to serve the whole burst, which is the latency of its slowest
+ * request. Requests per second are concurrency divided by the mean. The {@code virtual} runs
+ * need a Java 21 JVM and fail in setup on 17.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModelBenchmark {
+
+    private static final int TOMCAT_THREADS = 200;
+
+    @Param({ "platform", "virtual" })
+    public String threads;
+
+    @Param({ "200", "2000", "10000" })
+    public int concurrency;
+
+    @Param({ "10" })
+    public int ioMillis;
+
+    private BenchmarkContext context;
+    private ShowService showService;
+    private String[] showIds;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads) ? virtualThreadPerTask() : Executors.newFixedThreadPool(TOMCAT_THREADS);
+        context = new BenchmarkContext(Map.of(), Catalog.shows(64, 400));
+        showService = context.get(ShowService.class);
+        showIds = Catalog.shows(64, 400).keySet().toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Callable<Optional<Show>>> requests = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            requests.add(this::request);
+        }
+        int served = 0;
+        for (Future<Optional<Show>> response : executor.invokeAll(requests)) {
+            served += response.get().isPresent() ? 1 : 0;
+        }
+        return served;
+    }
+
+    private Optional<Show> request() throws InterruptedException {
+        Optional<Show> show = showService.getShowById(showIds[ThreadLocalRandom.current().nextInt(showIds.length)]);
+        Thread.sleep(ioMillis);
+        return show;
+    }
+
+    // looked up reflectively so the module still builds for Java 17
+    private static ExecutorService virtualThreadPerTask() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21 JVM, this is " + Runtime.version(), e);
+        }
+    }
+}
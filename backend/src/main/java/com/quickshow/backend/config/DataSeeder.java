@@ -7,7 +7,9 @@ import com.quickshow.backend.model.Theater;
 import com.quickshow.backend.repository.MovieRepository;
 import com.quickshow.backend.repository.ShowRepository;
 import com.quickshow.backend.repository.TheaterRepository;
+import com.quickshow.backend.service.ShowSeatMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -15,8 +17,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class DataSeeder implements CommandLineRunner {
@@ -30,11 +34,25 @@ public class DataSeeder implements CommandLineRunner {
     @Autowired
     private ShowRepository showRepository;
 
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    // sample = the handful of titles below, synthetic = a production-sized data set, none = leave the database empty
+    @Value("${quickshow.seed.mode:sample}")
+    private String seedMode;
+
+    @Value("${quickshow.seats.per-row:10}")
+    private int seatsPerRow;
+
     @Override
     public void run(String... args) throws Exception {
         // Only seed if no data exists
         if (movieRepository.count() == 0) {
-            seedData();
+            if ("synthetic".equalsIgnoreCase(seedMode)) {
+                syntheticDataGenerator.generate();
+            } else if (!"none".equalsIgnoreCase(seedMode)) {
+                seedData();
+            }
         }
     }
 
@@ -56,7 +74,6 @@ public class DataSeeder implements CommandLineRunner {
         movie1.setReleaseDate(LocalDateTime.now().minusDays(30));
         movie1.setCreatedAt(LocalDateTime.now());
         movie1.setUpdatedAt(LocalDateTime.now());
-        movieRepository.save(movie1);
 
         Movie movie2 = new Movie();
         movie2.setTitle("Inception");
@@ -74,7 +91,6 @@ public class DataSeeder implements CommandLineRunner {
         movie2.setReleaseDate(LocalDateTime.now().minusDays(15));
         movie2.setCreatedAt(LocalDateTime.now());
         movie2.setUpdatedAt(LocalDateTime.now());
-        movieRepository.save(movie2);
 
         Movie movie3 = new Movie();
         movie3.setTitle("The Shawshank Redemption");
@@ -92,7 +108,6 @@ public class DataSeeder implements CommandLineRunner {
         movie3.setReleaseDate(LocalDateTime.now().minusDays(7));
         movie3.setCreatedAt(LocalDateTime.now());
         movie3.setUpdatedAt(LocalDateTime.now());
-        movieRepository.save(movie3);
 
         // Create Theaters
         Theater theater1 = new Theater();
@@ -112,7 +127,6 @@ public class DataSeeder implements CommandLineRunner {
         theater1.setActive(true);
         theater1.setCreatedAt(LocalDateTime.now());
         theater1.setUpdatedAt(LocalDateTime.now());
-        theaterRepository.save(theater1);
 
         Theater theater2 = new Theater();
         theater2.setName("AMC Multiplex");
@@ -130,7 +144,10 @@ public class DataSeeder implements CommandLineRunner {
         theater2.setActive(true);
         theater2.setCreatedAt(LocalDateTime.now());
         theater2.setUpdatedAt(LocalDateTime.now());
-        theaterRepository.save(theater2);
+
+        // one round trip per collection instead of one per document
+        movieRepository.saveAll(List.of(movie1, movie2, movie3));
+        theaterRepository.saveAll(List.of(theater1, theater2));
 
         // Create Shows
         LocalDate today = LocalDate.now();
@@ -144,12 +161,12 @@ public class DataSeeder implements CommandLineRunner {
         show1.setShowTime(LocalTime.of(14, 0));
         show1.setTicketPrice(new BigDecimal("12.99"));
         show1.setTotalSeats(100);
+        show1.setBookedSeats(soldSeats(show1.getTotalSeats(), 85));
         show1.setAvailableSeats(85);
         show1.setShowType("2D");
         show1.setActive(true);
         show1.setCreatedAt(LocalDateTime.now());
         show1.setUpdatedAt(LocalDateTime.now());
-        showRepository.save(show1);
 
         Show show2 = new Show();
         show2.setMovieId(movie1.getId());
@@ -159,12 +176,12 @@ public class DataSeeder implements CommandLineRunner {
         show2.setShowTime(LocalTime.of(17, 30));
         show2.setTicketPrice(new BigDecimal("15.99"));
         show2.setTotalSeats(80);
+        show2.setBookedSeats(soldSeats(show2.getTotalSeats(), 60));
         show2.setAvailableSeats(60);
         show2.setShowType("3D");
         show2.setActive(true);
         show2.setCreatedAt(LocalDateTime.now());
         show2.setUpdatedAt(LocalDateTime.now());
-        showRepository.save(show2);
 
         // Shows for Movie 2 (Inception)
         Show show3 = new Show();
@@ -175,12 +192,12 @@ public class DataSeeder implements CommandLineRunner {
         show3.setShowTime(LocalTime.of(20, 0));
         show3.setTicketPrice(new BigDecimal("18.99"));
         show3.setTotalSeats(120);
+        show3.setBookedSeats(soldSeats(show3.getTotalSeats(), 95));
         show3.setAvailableSeats(95);
         show3.setShowType("IMAX");
         show3.setActive(true);
         show3.setCreatedAt(LocalDateTime.now());
         show3.setUpdatedAt(LocalDateTime.now());
-        showRepository.save(show3);
 
         Show show4 = new Show();
         show4.setMovieId(movie2.getId());
@@ -190,12 +207,12 @@ public class DataSeeder implements CommandLineRunner {
         show4.setShowTime(LocalTime.of(19, 30));
         show4.setTicketPrice(new BigDecimal("11.99"));
         show4.setTotalSeats(90);
+        show4.setBookedSeats(soldSeats(show4.getTotalSeats(), 70));
         show4.setAvailableSeats(70);
         show4.setShowType("2D");
         show4.setActive(true);
         show4.setCreatedAt(LocalDateTime.now());
         show4.setUpdatedAt(LocalDateTime.now());
-        showRepository.save(show4);
 
         // Shows for Movie 3 (The Shawshank Redemption)
         Show show5 = new Show();
@@ -206,13 +223,28 @@ public class DataSeeder implements CommandLineRunner {
         show5.setShowTime(LocalTime.of(16, 0));
         show5.setTicketPrice(new BigDecimal("9.99"));
         show5.setTotalSeats(75);
+        show5.setBookedSeats(soldSeats(show5.getTotalSeats(), 50));
         show5.setAvailableSeats(50);
         show5.setShowType("2D");
         show5.setActive(true);
         show5.setCreatedAt(LocalDateTime.now());
         show5.setUpdatedAt(LocalDateTime.now());
-        showRepository.save(show5);
+        Map<Integer, String> failures = showRepository.insertUnordered(List.of(show1, show2, show3, show4, show5));
+        if (!failures.isEmpty()) {
+            // the database was empty, so any rejected sample show is a bug in the data above
+            throw new IllegalStateException("Sample shows were not written, by position: " + failures);
+        }
 
         System.out.println("Sample data seeded successfully!");
     }
+
+    // seats already sold on a sample show, spread across the hall so bookedSeats matches availableSeats
+    private List<String> soldSeats(int totalSeats, int availableSeats) {
+        int sold = totalSeats - availableSeats;
+        List<String> seats = new ArrayList<>(sold);
+        for (int i = 0; i < sold; i++) {
+            seats.add(ShowSeatMap.label((int) ((long) i * totalSeats / sold), seatsPerRow));
+        }
+        return seats;
+    }
 } 
\ No newline at end of file
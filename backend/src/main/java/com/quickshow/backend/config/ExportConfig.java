@@ -0,0 +1,51 @@
+package com.quickshow.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming responses are written from this pool rather than from request threads. That covers
+ * the CSV/NDJSON exports and the streamed {@code /reactive} reads. A long export therefore never
+ * ties up a thread that could be serving a booking. Exports get a pool thread each; the writers
+ * take turns sending the next element of every open reactive stream.
+ */
+@Configuration
+public class ExportConfig implements WebMvcConfigurer {
+
+    @Value("${quickshow.export.max-concurrent:2}")
+    private int maxConcurrentExports;
+
+    @Value("${quickshow.reactive.writer-threads:4}")
+    private int reactiveWriterThreads;
+
+    @Value("${quickshow.export.timeout-minutes:60}")
+    private long exportTimeoutMinutes;
+
+    private ThreadPoolTaskExecutor exportExecutor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        exportExecutor = new ThreadPoolTaskExecutor();
+        exportExecutor.setThreadNamePrefix("stream-");
+        // ExportService admits at most max-concurrent exports, so the writer threads are never
+        // all taken by exports; queued element writes are short
+        exportExecutor.setCorePoolSize(maxConcurrentExports + reactiveWriterThreads);
+        exportExecutor.setMaxPoolSize(maxConcurrentExports + reactiveWriterThreads);
+        exportExecutor.initialize();
+        configurer.setTaskExecutor(exportExecutor);
+        configurer.setDefaultTimeout(TimeUnit.MINUTES.toMillis(exportTimeoutMinutes));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        if (exportExecutor != null) {
+            exportExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.quickshow.backend.config;
+
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.model.IdempotencyRecord;
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Creates the indexes declared on the {@code @Document} classes before anything else touches
+ * the database, then asks Mongo to explain every repository query and reports any that would
+ * still scan the whole collection or sort in memory. Set {@code quickshow.mongo.indexes.fail-on-collscan=true}
+ * to refuse to start instead of only logging.
+ */
+@Component
+@Profile("!inmemory")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoIndexManager implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private static final List<Class<?>> DOCUMENTS = List.of(Movie.class, Show.class, Theater.class, Ticket.class, User.class,
+            IdempotencyRecord.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Value("${quickshow.mongo.indexes.create:true}")
+    private boolean createIndexes;
+
+    @Value("${quickshow.mongo.indexes.verify-plans:true}")
+    private boolean verifyPlans;
+
+    @Value("${quickshow.mongo.indexes.fail-on-collscan:false}")
+    private boolean failOnCollscan;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (createIndexes) {
+            ensureIndexes();
+        }
+        if (verifyPlans) {
+            List<String> scans = findCollectionScans();
+            if (!scans.isEmpty() && failOnCollscan) {
+                throw new IllegalStateException("Queries without a usable index: " + scans);
+            }
+        }
+    }
+
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> document : DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                try {
+                    indexOps.createIndex(index);
+                } catch (RuntimeException e) {
+                    // e.g. a unique index over data that already has duplicates; keep starting up
+                    log.error("Could not create index {} on {}", index.getIndexKeys().toJson(),
+                            mongoTemplate.getCollectionName(document), e);
+                }
+            }
+            log.info("Collection {} has {} indexes", mongoTemplate.getCollectionName(document), indexOps.getIndexInfo().size());
+        }
+    }
+
+    /**
+     * Returns the repository methods whose winning plan scans the whole collection or sorts in
+     * memory, which for keyset pages means reading every match before returning the first row.
+     */
+    public List<String> findCollectionScans() {
+        Map<String, QueryShape> shapes = queryShapes();
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, QueryShape> check : shapes.entrySet()) {
+            QueryShape shape = check.getValue();
+            Document find = new Document("find", mongoTemplate.getCollectionName(shape.document())).append("filter", shape.filter());
+            if (shape.sort() != null) {
+                find.append("sort", shape.sort());
+            }
+            Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+            Object winningPlan = ((Document) explain.get("queryPlanner")).get("winningPlan");
+            if (hasStage(winningPlan, "COLLSCAN") || hasStage(winningPlan, "SORT")) {
+                log.warn("{} does a collection scan or in-memory sort: {}", check.getKey(), shape.filter().toJson());
+                scans.add(check.getKey());
+            }
+        }
+        log.info("Checked {} query plans, {} collection scans", shapes.size(), scans.size());
+        return scans;
+    }
+
+    /**
+     * One filter per repository query, shaped the way Spring Data sends it. RepositoryQueryPlanTest
+     * fails when a repository method queries Mongo without an entry here.
+     */
+    Map<String, QueryShape> queryShapes() {
+        LocalDate today = LocalDate.now();
+        ObjectId after = new ObjectId(CursorPage.FIRST_ID);
+        return Map.ofEntries(
+                Map.entry("MovieRepository.findByGenreAndIdGreaterThanOrderByIdAsc", keyset(Movie.class, new Document("genre", "Action"), after)),
+                Map.entry("MovieRepository.findByLanguageAndIdGreaterThanOrderByIdAsc", keyset(Movie.class, new Document("language", "English"), after)),
+                Map.entry("ShowRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(Show.class, new Document("isActive", true), after)),
+                Map.entry("ShowRepository.findByMovieIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(Show.class,
+                        new Document("movieId", "m").append("isActive", true), after)),
+                Map.entry("ShowRepository.findByTheaterIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(Show.class,
+                        new Document("theaterId", "t").append("isActive", true), after)),
+                Map.entry("TicketRepository.findByIdGreaterThanOrderByIdAsc", keyset(Ticket.class, new Document(), after)),
+                Map.entry("TicketRepository.findByUserIdAndIdGreaterThanOrderByIdAsc", keyset(Ticket.class, new Document("userId", "u"), after)),
+                Map.entry("TicketRepository.findByShowIdAndIdGreaterThanOrderByIdAsc", keyset(Ticket.class, new Document("showId", "s"), after)),
+                Map.entry("TicketRepository.findByBookingStatusAndIdGreaterThanOrderByIdAsc", keyset(Ticket.class,
+                        new Document("bookingStatus", "CONFIRMED"), after)),
+                Map.entry("UserRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(User.class, new Document("isActive", true), after)),
+                Map.entry("MovieRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(Movie.class, new Document("isActive", true), after)),
+                Map.entry("TheaterRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(Theater.class, new Document("isActive", true), after)),
+                Map.entry("TheaterRepository.findByCityAndIsActiveTrueAndIdGreaterThanOrderByIdAsc", keyset(Theater.class,
+                        new Document("city", "Mumbai").append("isActive", true), after)),
+                Map.entry("MovieRepository.findByGenreWithFields", keyset(Movie.class, new Document("genre", "Action"), after)),
+                Map.entry("MovieRepository.findByLanguageWithFields", keyset(Movie.class, new Document("language", "English"), after)),
+                Map.entry("MovieRepository.findActiveWithFields", keyset(Movie.class, new Document("isActive", true), after)),
+                Map.entry("MovieRepository.findByIsActiveTrue", new QueryShape(Movie.class, new Document("isActive", true))),
+                Map.entry("MovieRepository.findByGenre", new QueryShape(Movie.class, new Document("genre", "Action"))),
+                Map.entry("MovieRepository.findByTitleContainingIgnoreCase", new QueryShape(Movie.class,
+                        new Document("title", Pattern.compile(".*knight.*", Pattern.CASE_INSENSITIVE)))),
+                Map.entry("MovieRepository.findByLanguage", new QueryShape(Movie.class, new Document("language", "English"))),
+                Map.entry("ShowRepository.findByMovieIdAndShowDateAndIsActiveTrue", new QueryShape(Show.class,
+                        new Document("movieId", "m").append("showDate", today).append("isActive", true))),
+                Map.entry("ReactiveShowRepository.findByMovieIdAndShowDateAndIsActiveTrueOrderByShowTimeAscIdAsc", new QueryShape(Show.class,
+                        new Document("movieId", "m").append("showDate", today).append("isActive", true),
+                        new Document("showTime", 1).append("_id", 1))),
+                Map.entry("ShowRepository.findByTheaterIdAndShowDateAndIsActiveTrue", new QueryShape(Show.class,
+                        new Document("theaterId", "t").append("showDate", today).append("isActive", true))),
+                Map.entry("ShowRepository.findByMovieIdAndIsActiveTrue", new QueryShape(Show.class,
+                        new Document("movieId", "m").append("isActive", true))),
+                Map.entry("ShowRepository.findByTheaterIdAndIsActiveTrue", new QueryShape(Show.class,
+                        new Document("theaterId", "t").append("isActive", true))),
+                Map.entry("ShowRepository.findByIsActiveTrue", new QueryShape(Show.class, new Document("isActive", true))),
+                Map.entry("ShowRepository.findByShowDateGreaterThanEqualAndIsActiveTrue", new QueryShape(Show.class,
+                        new Document("showDate", new Document("$gte", today)).append("isActive", true))),
+                Map.entry("ShowRepository.claimSeats", new QueryShape(Show.class, new Document("_id", after)
+                        .append("isActive", true).append("bookedSeats", new Document("$nin", List.of("A1")))
+                        .append("availableSeats", new Document("$gte", 1)))),
+                Map.entry("ShowRepository.releaseSeats", new QueryShape(Show.class, new Document("_id", after)
+                        .append("bookedSeats", new Document("$all", List.of("A1"))))),
+                Map.entry("ShowRepository.anySeatBooked", new QueryShape(Show.class, new Document("_id", after)
+                        .append("bookedSeats", new Document("$in", List.of("A1"))))),
+                Map.entry("ShowRepository.backfillBookedSeats", new QueryShape(Show.class, new Document("_id", after)
+                        .append("bookedSeats", new Document("$exists", false)))),
+                Map.entry("ShowRepository.adjustAvailableSeats", new QueryShape(Show.class, new Document("_id", after)
+                        .append("availableSeats", new Document("$gte", 1)))),
+                Map.entry("ShowRepository.updateDetails", new QueryShape(Show.class, new Document("_id", after))),
+                Map.entry("ShowRepository.deactivate", new QueryShape(Show.class, new Document("_id", after))),
+                Map.entry("ShowRepository.streamForExport", new QueryShape(Show.class, new Document("theaterId", "t")
+                        .append("showDate", new Document("$gte", today).append("$lte", today.plusDays(7))))),
+                Map.entry("TheaterRepository.findActiveWithFields", keyset(Theater.class, new Document("isActive", true), after)),
+                Map.entry("TheaterRepository.findActiveByCityWithFields", keyset(Theater.class,
+                        new Document("city", "Mumbai").append("isActive", true), after)),
+                Map.entry("TheaterRepository.findByIsActiveTrue", new QueryShape(Theater.class, new Document("isActive", true))),
+                Map.entry("TheaterRepository.findByCity", new QueryShape(Theater.class, new Document("city", "Mumbai"))),
+                Map.entry("TheaterRepository.findByCityAndIsActiveTrue", new QueryShape(Theater.class,
+                        new Document("city", "Mumbai").append("isActive", true))),
+                Map.entry("TicketRepository.findByUserId", new QueryShape(Ticket.class, new Document("userId", "u"))),
+                Map.entry("TicketRepository.findByShowId", new QueryShape(Ticket.class, new Document("showId", "s"))),
+                Map.entry("TicketRepository.findByBookingStatus", new QueryShape(Ticket.class, new Document("bookingStatus", "PENDING"))),
+                Map.entry("TicketRepository.findByUserIdAndBookingStatus", new QueryShape(Ticket.class,
+                        new Document("userId", "u").append("bookingStatus", "CONFIRMED"))),
+                Map.entry("TicketRepository.findByShowIdAndBookingStatusIn", new QueryShape(Ticket.class,
+                        new Document("showId", "s").append("bookingStatus", new Document("$in", List.of("PENDING", "CONFIRMED"))))),
+                Map.entry("TicketRepository.findByBookingStatusAndHoldExpiresAtLessThanOrderByHoldExpiresAtAsc", new QueryShape(Ticket.class,
+                        new Document("bookingStatus", "PENDING").append("holdExpiresAt", new Document("$lt", LocalDateTime.now())),
+                        new Document("holdExpiresAt", 1))),
+                Map.entry("TicketRepository.transitionBookingStatus", new QueryShape(Ticket.class, new Document("_id", after)
+                        .append("bookingStatus", new Document("$in", List.of("PENDING", "CONFIRMED"))))),
+                Map.entry("TicketRepository.updatePaymentDetails", new QueryShape(Ticket.class, new Document("_id", after))),
+                Map.entry("TicketRepository.confirmHold", new QueryShape(Ticket.class, new Document("_id", "h")
+                        .append("showId", "s").append("bookingStatus", "PENDING")
+                        .append("holdExpiresAt", new Document("$gt", LocalDateTime.now())))),
+                Map.entry("TicketRepository.streamForExport", new QueryShape(Ticket.class, new Document("theaterId", "t")
+                        .append("bookingDate", new Document("$gte", today.atStartOfDay()).append("$lt", today.plusDays(1).atStartOfDay())))),
+                Map.entry("UserRepository.findByEmail", new QueryShape(User.class, new Document("email", "a@b.c"))),
+                Map.entry("UserRepository.findByUsername", new QueryShape(User.class, new Document("username", "a"))),
+                Map.entry("UserRepository.existsByEmail", new QueryShape(User.class, new Document("email", "a@b.c"))),
+                Map.entry("UserRepository.existsByUsername", new QueryShape(User.class, new Document("username", "a"))),
+                Map.entry("UserRepository.findByIsActiveTrue", new QueryShape(User.class, new Document("isActive", true))),
+                Map.entry("IdempotencyService.claimShared", new QueryShape(IdempotencyRecord.class, new Document("_id", "k")
+                        .append("state", "PENDING").append("expiresAt", new Date()))),
+                Map.entry("IdempotencyService.releaseShared", new QueryShape(IdempotencyRecord.class, new Document("_id", "k")
+                        .append("state", "PENDING"))));
+    }
+
+    private static QueryShape keyset(Class<?> document, Document filter, ObjectId after) {
+        return new QueryShape(document, filter.append("_id", new Document("$gt", after)), new Document("_id", 1));
+    }
+
+    static boolean hasStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> hasStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> hasStage(value, stage));
+        }
+        return false;
+    }
+
+    record QueryShape(Class<?> document, Document filter, Document sort) {
+        private QueryShape(Class<?> document, Document filter) {
+            this(document, filter, null);
+        }
+    }
+}
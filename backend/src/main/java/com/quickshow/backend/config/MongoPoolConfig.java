@@ -0,0 +1,45 @@
+package com.quickshow.backend.config;
+
+import com.mongodb.ConnectionString;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo connection pool limits. On platform threads the Tomcat pool (200 threads) caps how many
+ * requests can wait for a connection. On virtual threads nothing does, so this pool is the queue.
+ * A short max wait makes a spike fail fast instead of holding requests open. maxPoolSize and
+ * waitQueueTimeoutMS given in the connection string win over these settings.
+ */
+@Configuration
+public class MongoPoolConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${quickshow.mongo.pool.max-size:100}")
+    private int maxSize;
+
+    @Value("${quickshow.mongo.pool.max-wait-millis:2000}")
+    private long maxWaitMillis;
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer connectionPoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> {
+            // read here, not in a field: MONGO_URI is unset when the inmemory profile runs without Mongo
+            String uri = environment.getProperty("spring.data.mongodb.uri");
+            ConnectionString connectionString = uri == null || uri.isBlank() ? null : new ConnectionString(uri);
+            if (connectionString == null || connectionString.getMaxConnectionPoolSize() == null) {
+                pool.maxSize(maxSize);
+            }
+            if (connectionString == null || connectionString.getMaxWaitTime() == null) {
+                pool.maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+}
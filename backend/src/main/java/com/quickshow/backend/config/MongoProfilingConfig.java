@@ -0,0 +1,58 @@
+package com.quickshow.backend.config;
+
+import com.quickshow.backend.service.MongoQueryProfiler;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wires MongoQueryProfiler in. Every Spring Data repository proxy gets an advice that names the
+ * method being called on the current thread, and the profiler is registered as a command listener
+ * on the Mongo clients. Both are skipped with {@code quickshow.mongo.profiler.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quickshow.mongo.profiler.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoProfilingConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryMethodNaming() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, information) -> proxy.addAdvice(
+                                    naming(information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer commandProfilingCustomizer(MongoQueryProfiler profiler) {
+        return settings -> settings.addCommandListener(profiler);
+    }
+
+    // names calls "ShowRepository.findById" even when the method is inherited from CrudRepository
+    private static MethodInterceptor naming(String repository) {
+        Map<Method, String> names = new ConcurrentHashMap<>();
+        return invocation -> {
+            String previous = MongoQueryProfiler.enterMethod(
+                    names.computeIfAbsent(invocation.getMethod(), method -> repository + "." + method.getName()));
+            try {
+                return invocation.proceed();
+            } finally {
+                MongoQueryProfiler.exitMethod(previous);
+            }
+        };
+    }
+}
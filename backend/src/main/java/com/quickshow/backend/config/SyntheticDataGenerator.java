@@ -0,0 +1,407 @@
+package com.quickshow.backend.config;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Screen;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.model.User;
+import com.quickshow.backend.repository.MovieRepository;
+import com.quickshow.backend.repository.ShowRepository;
+import com.quickshow.backend.repository.TheaterRepository;
+import com.quickshow.backend.repository.TicketRepository;
+import com.quickshow.backend.repository.UserRepository;
+import com.quickshow.backend.service.ShowSeatMap;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Fills an empty database with a production-sized catalog for load testing
+ * ({@code quickshow.seed.mode=synthetic}). Work is split into units (a chunk of movies or users,
+ * or one theater with all its shows and tickets) that run on a pool of producers and write with
+ * bulk inserts. Every unit draws from its own random stream derived from {@code quickshow.seed.seed},
+ * and ids are derived from the entity kind and ordinal, so the same settings and start date always
+ * produce the same documents no matter how the units are scheduled.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int MOVIE = 1;
+    private static final int USER = 2;
+    private static final int THEATER = 3;
+    private static final int SHOW = 4;
+    private static final int TICKET = 5;
+    private static final int ID_EPOCH_SECONDS = 1_600_000_000;
+
+    private static final String[] ADJECTIVES = { "Silent", "Broken", "Crimson", "Last", "Hidden", "Electric", "Golden",
+            "Midnight", "Wild", "Frozen", "Burning", "Lost", "Iron", "Secret", "Distant", "Hollow", "Savage", "Quiet" };
+    private static final String[] NOUNS = { "Horizon", "Empire", "River", "Storm", "Kingdom", "Signal", "Garden",
+            "Protocol", "Harbor", "Shadow", "Frontier", "Machine", "Orchard", "Legacy", "Circuit", "Monsoon", "Tide", "Verdict" };
+    private static final String[] GENRES = { "Action", "Drama", "Comedy", "Thriller", "Sci-Fi", "Romance", "Horror",
+            "Animation", "Crime", "Adventure" };
+    private static final String[] LANGUAGES = { "English", "Hindi", "Tamil", "Telugu", "Malayalam", "Kannada",
+            "Marathi", "Bengali", "Spanish", "Korean" };
+    private static final String[] RATINGS = { "G", "PG", "PG-13", "R", "U", "UA", "A" };
+    private static final String[] FIRST_NAMES = { "Aarav", "Maya", "Rohan", "Priya", "Kabir", "Ananya", "Vikram",
+            "Sara", "Arjun", "Leela", "Daniel", "Emma", "Noah", "Olivia", "Ravi", "Meera", "Ishaan", "Zoya", "Karan", "Nina" };
+    private static final String[] LAST_NAMES = { "Sharma", "Iyer", "Khan", "Patel", "Reddy", "Nair", "Singh", "Das",
+            "Menon", "Gupta", "Kapoor", "Rao", "Fernandes", "Joshi", "Bose", "Mehta", "Chopra", "Pillai" };
+    private static final String[][] CITIES = { { "Mumbai", "Maharashtra" }, { "Delhi", "Delhi" },
+            { "Bengaluru", "Karnataka" }, { "Hyderabad", "Telangana" }, { "Chennai", "Tamil Nadu" },
+            { "Kolkata", "West Bengal" }, { "Pune", "Maharashtra" }, { "Ahmedabad", "Gujarat" },
+            { "Jaipur", "Rajasthan" }, { "Lucknow", "Uttar Pradesh" }, { "Kochi", "Kerala" },
+            { "Chandigarh", "Chandigarh" }, { "Indore", "Madhya Pradesh" }, { "Bhopal", "Madhya Pradesh" },
+            { "Nagpur", "Maharashtra" }, { "Surat", "Gujarat" }, { "Coimbatore", "Tamil Nadu" },
+            { "Visakhapatnam", "Andhra Pradesh" }, { "Mysuru", "Karnataka" }, { "Goa", "Goa" } };
+    private static final String[] BRANDS = { "Cineplex", "Talkies", "Multiplex", "Picture House", "Screens", "Cinemas" };
+    private static final String[] SCREEN_TYPES = { "2D", "2D", "2D", "3D", "3D", "IMAX", "4DX" };
+    private static final String[] PAYMENT_METHODS = { "CARD", "UPI", "NET_BANKING", "WALLET" };
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${quickshow.seats.per-row:10}")
+    private int seatsPerRow;
+
+    @Value("${quickshow.seed.seed:42}")
+    private long seed;
+
+    @Value("${quickshow.seed.start-date:}")
+    private String startDate;
+
+    @Value("${quickshow.seed.movies:2000}")
+    private int movieCount;
+
+    @Value("${quickshow.seed.users:100000}")
+    private int userCount;
+
+    @Value("${quickshow.seed.cities:20}")
+    private int cityCount;
+
+    @Value("${quickshow.seed.theaters-per-city:10}")
+    private int theatersPerCity;
+
+    @Value("${quickshow.seed.screens-per-theater:6}")
+    private int screensPerTheater;
+
+    @Value("${quickshow.seed.days:14}")
+    private int days;
+
+    @Value("${quickshow.seed.shows-per-screen:4}")
+    private int showsPerScreen;
+
+    // share of seats sold in an average show
+    @Value("${quickshow.seed.booking-density:0.35}")
+    private double bookingDensity;
+
+    @Value("${quickshow.seed.batch-size:1000}")
+    private int batchSize;
+
+    // 0 = one producer per core
+    @Value("${quickshow.seed.threads:0}")
+    private int threads;
+
+    private final AtomicLong showsWritten = new AtomicLong();
+    private final AtomicLong ticketsWritten = new AtomicLong();
+
+    public void generate() {
+        LocalDate firstDay = startDate == null || startDate.isBlank() ? LocalDate.now() : LocalDate.parse(startDate);
+        int cities = Math.min(cityCount, CITIES.length);
+        int theaterCount = cities * theatersPerCity;
+        int producers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        long started = System.nanoTime();
+        log.info("Generating {} movies, {} users, {} theaters x {} screens x {} days x {} shows with seed {} on {} producers",
+                movieCount, userCount, theaterCount, screensPerTheater, days, showsPerScreen, seed, producers);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            runAll(pool, chunks(movieCount), chunk -> movieRepository.insert(movies(chunk, firstDay)));
+            runAll(pool, chunks(userCount), chunk -> userRepository.insert(users(chunk, firstDay)));
+            List<Theater> theaters = new ArrayList<>(theaterCount);
+            for (int i = 0; i < theaterCount; i++) {
+                theaters.add(theater(i, firstDay));
+            }
+            theaterRepository.insert(theaters);
+            runAll(pool, theaterCount, i -> showsAndTickets(i, theaters.get(i), firstDay));
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Generated {} movies, {} users, {} theaters, {} shows and {} tickets in {} s",
+                movieCount, userCount, theaterCount, showsWritten.get(), ticketsWritten.get(),
+                (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private List<Movie> movies(int chunk, LocalDate firstDay) {
+        List<Movie> movies = new ArrayList<>(batchSize);
+        for (int i = chunk * batchSize; i < Math.min(movieCount, (chunk + 1) * batchSize); i++) {
+            SplittableRandom random = random(MOVIE, i);
+            Movie movie = new Movie();
+            movie.setId(id(MOVIE, i));
+            String title = "The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+            movie.setTitle(i < ADJECTIVES.length * NOUNS.length ? title : title + " " + (i / (ADJECTIVES.length * NOUNS.length) + 1));
+            movie.setGenre(pick(random, GENRES));
+            movie.setLanguage(pick(random, LANGUAGES));
+            movie.setDirector(person(random));
+            List<String> cast = new ArrayList<>();
+            for (int c = 0; c < 3 + random.nextInt(4); c++) {
+                cast.add(person(random));
+            }
+            movie.setCast(cast);
+            movie.setDescription("A " + movie.getGenre().toLowerCase() + " about " + cast.get(0) + " and the "
+                    + pick(random, NOUNS).toLowerCase() + " that changes everything.");
+            movie.setDuration(85 + random.nextInt(96));
+            movie.setRating(pick(random, RATINGS));
+            movie.setRatingScore(Math.round((4 + random.nextDouble() * 5.5) * 10) / 10.0);
+            movie.setActive(true);
+            movie.setReleaseDate(firstDay.minusDays(random.nextInt(180)).atStartOfDay());
+            movie.setCreatedAt(movie.getReleaseDate());
+            movie.setUpdatedAt(movie.getReleaseDate());
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    private List<User> users(int chunk, LocalDate firstDay) {
+        List<User> users = new ArrayList<>(batchSize);
+        for (int i = chunk * batchSize; i < Math.min(userCount, (chunk + 1) * batchSize); i++) {
+            SplittableRandom random = random(USER, i);
+            User user = new User();
+            user.setId(id(USER, i));
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("password");
+            user.setFirstName(pick(random, FIRST_NAMES));
+            user.setLastName(pick(random, LAST_NAMES));
+            user.setPhone(String.format("9%09d", random.nextInt(1_000_000_000)));
+            user.setRole("USER");
+            user.setActive(true);
+            user.setCreatedAt(firstDay.minusDays(random.nextInt(730)).atStartOfDay());
+            user.setUpdatedAt(user.getCreatedAt());
+            users.add(user);
+        }
+        return users;
+    }
+
+    private Theater theater(int index, LocalDate firstDay) {
+        SplittableRandom random = random(THEATER, index);
+        String[] city = CITIES[index / theatersPerCity];
+        Theater theater = new Theater();
+        theater.setId(id(THEATER, index));
+        theater.setName(city[0] + " " + pick(random, BRANDS) + " " + (index % theatersPerCity + 1));
+        theater.setAddress((1 + random.nextInt(400)) + " " + pick(random, NOUNS) + " Road");
+        theater.setCity(city[0]);
+        theater.setState(city[1]);
+        theater.setZipCode(String.valueOf(400001 + random.nextInt(200000)));
+        theater.setPhone(String.format("+91-22-%08d", random.nextInt(100_000_000)));
+        theater.setEmail("theater" + index + "@example.com");
+        List<Screen> screens = new ArrayList<>();
+        for (int s = 1; s <= screensPerTheater; s++) {
+            String type = pick(random, SCREEN_TYPES);
+            int rows = type.equals("IMAX") ? 18 + random.nextInt(8) : 8 + random.nextInt(14);
+            screens.add(new Screen(String.valueOf(s), rows * seatsPerRow, type, List.of("Dolby")));
+        }
+        theater.setScreens(screens);
+        theater.setAmenities(List.of("Parking", "Food Court", "Recliner Seats").subList(0, 1 + random.nextInt(3)));
+        theater.setActive(true);
+        theater.setCreatedAt(firstDay.minusYears(1).atStartOfDay());
+        theater.setUpdatedAt(theater.getCreatedAt());
+        return theater;
+    }
+
+    private void showsAndTickets(int theaterIndex, Theater theater, LocalDate firstDay) {
+        SplittableRandom random = random(SHOW, theaterIndex);
+        List<Show> shows = new ArrayList<>(batchSize);
+        List<Ticket> tickets = new ArrayList<>(batchSize);
+        long showOrdinal = (long) theaterIndex * screensPerTheater * days * showsPerScreen;
+        long ticketOrdinal = (long) theaterIndex << 32;
+        for (int day = 0; day < days; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            for (Screen screen : theater.getScreens()) {
+                LocalTime time = LocalTime.of(9, 0).plusMinutes(15L * random.nextInt(8));
+                for (int n = 0; n < showsPerScreen && time.isBefore(LocalTime.of(23, 30)); n++) {
+                    Show show = new Show();
+                    show.setId(id(SHOW, showOrdinal++));
+                    // a few titles take most of the screens, like a real release calendar
+                    show.setMovieId(id(MOVIE, (long) (movieCount * Math.pow(random.nextDouble(), 3))));
+                    show.setTheaterId(theater.getId());
+                    show.setScreenNumber(screen.getScreenNumber());
+                    show.setShowDate(date);
+                    show.setShowTime(time);
+                    show.setShowType(screen.getScreenType());
+                    show.setTotalSeats(screen.getTotalSeats());
+                    show.setTicketPrice(price(random, screen.getScreenType(), time));
+                    show.setActive(true);
+                    show.setCreatedAt(firstDay.minusDays(7).atStartOfDay());
+                    show.setUpdatedAt(show.getCreatedAt());
+                    ticketOrdinal = book(random, show, ticketOrdinal, tickets);
+                    shows.add(show);
+
+                    if (shows.size() >= batchSize) {
+                        flushShows(shows);
+                    }
+                    if (tickets.size() >= batchSize) {
+                        flushTickets(tickets);
+                    }
+                    time = time.plusMinutes(165 + 15L * random.nextInt(4));
+                }
+            }
+        }
+        flushShows(shows);
+        flushTickets(tickets);
+    }
+
+    // sells a share of the show's seats in groups of one to six and records them on the show
+    private long book(SplittableRandom random, Show show, long ticketOrdinal, List<Ticket> tickets) {
+        int total = show.getTotalSeats();
+        int target = (int) Math.min(total, Math.round(total * bookingDensity * (0.2 + 1.6 * random.nextDouble())));
+        int[] seats = new int[total];
+        for (int i = 0; i < total; i++) {
+            seats[i] = i;
+        }
+        List<String> booked = new ArrayList<>(target);
+        LocalDateTime startsAt = show.getShowDate().atTime(show.getShowTime());
+        int sold = 0;
+        while (sold < target) {
+            int group = Math.min(target - sold, 1 + random.nextInt(6));
+            List<String> seatNumbers = new ArrayList<>(group);
+            for (int g = 0; g < group; g++) {
+                int pick = sold + g + random.nextInt(total - sold - g);
+                int seat = seats[pick];
+                seats[pick] = seats[sold + g];
+                seats[sold + g] = seat;
+                seatNumbers.add(ShowSeatMap.label(seat, seatsPerRow));
+            }
+            sold += group;
+            boolean cancelled = random.nextInt(20) == 0;
+            Ticket ticket = new Ticket();
+            ticket.setId(id(TICKET, ticketOrdinal++));
+            ticket.setUserId(id(USER, random.nextInt(Math.max(1, userCount))));
+            ticket.setShowId(show.getId());
+            ticket.setMovieId(show.getMovieId());
+            ticket.setTheaterId(show.getTheaterId());
+            ticket.setSeatNumbers(seatNumbers);
+            ticket.setTotalAmount(show.getTicketPrice().multiply(BigDecimal.valueOf(group)));
+            ticket.setBookingStatus(cancelled ? "CANCELLED" : "CONFIRMED");
+            ticket.setPaymentStatus(cancelled ? "FAILED" : "PAID");
+            ticket.setPaymentMethod(pick(random, PAYMENT_METHODS));
+            ticket.setBookingDate(startsAt.minusMinutes(30 + random.nextInt(7 * 24 * 60)));
+            ticket.setShowDateTime(startsAt);
+            ticket.setCreatedAt(ticket.getBookingDate());
+            ticket.setUpdatedAt(ticket.getBookingDate());
+            tickets.add(ticket);
+            if (!cancelled) {
+                booked.addAll(seatNumbers);
+            }
+        }
+        show.setBookedSeats(booked);
+        show.setAvailableSeats(total - booked.size());
+        return ticketOrdinal;
+    }
+
+    private void flushShows(List<Show> shows) {
+        if (!shows.isEmpty()) {
+            Map<Integer, String> failures = showRepository.insertUnordered(shows);
+            if (!failures.isEmpty()) {
+                log.warn("{} of {} generated shows were not written, e.g. {}", failures.size(), shows.size(),
+                        failures.values().iterator().next());
+            }
+            showsWritten.addAndGet(shows.size() - failures.size());
+            shows.clear();
+        }
+    }
+
+    private void flushTickets(List<Ticket> tickets) {
+        if (!tickets.isEmpty()) {
+            ticketRepository.insert(tickets);
+            ticketsWritten.addAndGet(tickets.size());
+            tickets.clear();
+        }
+    }
+
+    private static BigDecimal price(SplittableRandom random, String screenType, LocalTime time) {
+        double base = switch (screenType) {
+            case "IMAX" -> 18;
+            case "4DX" -> 16;
+            case "3D" -> 13;
+            default -> 9;
+        };
+        if (time.getHour() >= 18) {
+            base *= 1.25;
+        }
+        return BigDecimal.valueOf(Math.floor(base + random.nextInt(4)) + 0.99).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private int chunks(int count) {
+        return (count + batchSize - 1) / batchSize;
+    }
+
+    private static void runAll(ExecutorService pool, int units, IntConsumer unit) {
+        List<Future<?>> futures = new ArrayList<>(units);
+        for (int i = 0; i < units; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> unit.accept(index)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Data generation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Data generation failed", e.getCause());
+            }
+        }
+    }
+
+    private SplittableRandom random(int kind, long ordinal) {
+        return new SplittableRandom(seed * 1_000_003L + kind * 0x9E3779B97F4A7C15L + ordinal);
+    }
+
+    // fixed timestamp, then kind and ordinal, so ids repeat across runs and sort in generation order
+    private static String id(int kind, long ordinal) {
+        return new ObjectId(ByteBuffer.allocate(12).putInt(ID_EPOCH_SECONDS + kind).putLong(ordinal).array()).toHexString();
+    }
+
+    private static String person(SplittableRandom random) {
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,42 @@
+package com.quickshow.backend.controller;
+
+import com.quickshow.backend.dto.SlowQuery;
+import com.quickshow.backend.service.CatalogCache;
+import com.quickshow.backend.service.MongoQueryProfiler;
+import com.quickshow.backend.service.SuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private MongoQueryProfiler mongoQueryProfiler;
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(catalogCache.getStats());
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> getSuggestStats() {
+        return ResponseEntity.ok(suggestService.getStats());
+    }
+
+    @GetMapping("/mongo/slow-queries")
+    public ResponseEntity<List<SlowQuery>> getSlowQueries(@RequestParam(defaultValue = "false") boolean explain) {
+        return ResponseEntity.ok(mongoQueryProfiler.getSlowQueries(explain));
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +16,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.dto.Suggestion;
 import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.service.CatalogVersions;
+import com.quickshow.backend.service.FieldSelection;
 import com.quickshow.backend.service.MovieService;
+import com.quickshow.backend.service.SuggestService;
 
 @RestController
 @RequestMapping("/movies")
@@ -27,35 +34,90 @@ public class MovieController {
     @Autowired
     private MovieService movieService;
 
+    @Autowired
+    private SuggestService suggestService;
+
     @GetMapping
-    public ResponseEntity<List<Movie>> getAllMovies() {
-        List<Movie> movies = movieService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<CursorPage<?>> getAllMovies(@RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(required = false) String fields,
+                                                      WebRequest request) {
+        FieldSelection.Fields<Movie> selected = FieldSelection.MOVIES.parse(fields);
+        if (!CursorPage.isValidIdCursor(after) || (fields != null && selected == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        CursorPage<Movie> page = movieService.getAllMovies(after, limit, selected);
+        String etag = CatalogVersions.withFields(CatalogVersions.withNextCursor(
+                CatalogVersions.movies(page.getItems()), page.getNextCursor()), selected);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(selected == null ? page : page.map(selected::apply));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Movie> getMovieById(@PathVariable String id) {
+    public ResponseEntity<Movie> getMovieById(@PathVariable String id, WebRequest request) {
         Optional<Movie> movie = movieService.getMovieById(id);
-        return movie.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (movie.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = CatalogVersions.movie(movie.get());
+        long lastModified = CatalogVersions.lastModified(movie.get().getUpdatedAt());
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(movie.get());
     }
 
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<List<Movie>> getMoviesByGenre(@PathVariable String genre) {
-        List<Movie> movies = movieService.getMoviesByGenre(genre);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<CursorPage<?>> getMoviesByGenre(@PathVariable String genre,
+                                                @RequestParam(required = false) String after,
+                                                @RequestParam(defaultValue = "50") int limit,
+                                                @RequestParam(required = false) String fields) {
+        FieldSelection.Fields<Movie> selected = FieldSelection.MOVIES.parse(fields);
+        if (!CursorPage.isValidIdCursor(after) || (fields != null && selected == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        CursorPage<Movie> page = movieService.getMoviesByGenre(genre, after, limit, selected);
+        return ResponseEntity.ok(selected == null ? page : page.map(selected::apply));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Movie>> searchMovies(@RequestParam String title) {
-        List<Movie> movies = movieService.searchMoviesByTitle(title);
+    public ResponseEntity<List<Movie>> searchMovies(@RequestParam(required = false) String q,
+                                                    @RequestParam(required = false) String title,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        String query = q != null ? q : title;
+        if (query == null || query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Movie> movies = movieService.searchMovies(query, limit);
         return ResponseEntity.ok(movies);
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String prefix,
+                                                    @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(suggestService.suggest(prefix, limit));
+    }
+
     @GetMapping("/language/{language}")
-    public ResponseEntity<List<Movie>> getMoviesByLanguage(@PathVariable String language) {
-        List<Movie> movies = movieService.getMoviesByLanguage(language);
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<CursorPage<?>> getMoviesByLanguage(@PathVariable String language,
+                                                @RequestParam(required = false) String after,
+                                                @RequestParam(defaultValue = "50") int limit,
+                                                @RequestParam(required = false) String fields) {
+        FieldSelection.Fields<Movie> selected = FieldSelection.MOVIES.parse(fields);
+        if (!CursorPage.isValidIdCursor(after) || (fields != null && selected == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        CursorPage<Movie> page = movieService.getMoviesByLanguage(language, after, limit, selected);
+        return ResponseEntity.ok(selected == null ? page : page.map(selected::apply));
     }
 
     @PostMapping
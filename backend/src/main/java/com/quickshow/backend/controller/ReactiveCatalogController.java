@@ -0,0 +1,64 @@
+package com.quickshow.backend.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.service.ReactiveCatalogService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive twins of the busiest catalog reads. The request thread goes back to Tomcat as soon
+ * as the handler returns. {@code Accept: application/x-ndjson} streams one document per line,
+ * written as the client reads. Plain JSON collects the whole array first. Unlike the blocking
+ * endpoints these lists are not paged.
+ */
+@RestController
+@RequestMapping("/reactive")
+@CrossOrigin(origins = "*")
+@Profile("!inmemory")
+public class ReactiveCatalogController {
+
+    @Autowired
+    private ReactiveCatalogService reactiveCatalogService;
+
+    @GetMapping(value = "/movies", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Movie> getAllMovies() {
+        return reactiveCatalogService.getAllMovies();
+    }
+
+    @GetMapping("/movies/{id}")
+    public Mono<ResponseEntity<Movie>> getMovieById(@PathVariable String id) {
+        return reactiveCatalogService.getMovieById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/shows/movie/{movieId}/date/{showDate}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Show> getShowsByMovieAndDate(@PathVariable String movieId, @PathVariable String showDate) {
+        return reactiveCatalogService.getShowsByMovieAndDate(movieId, LocalDate.parse(showDate));
+    }
+
+    @GetMapping(value = "/theaters", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Theater> getAllTheaters() {
+        return reactiveCatalogService.getAllTheaters();
+    }
+
+    @GetMapping(value = "/theaters/city/{city}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Theater> getTheatersByCity(@PathVariable String city) {
+        return reactiveCatalogService.getTheatersByCity(city);
+    }
+}
@@ -1,11 +1,34 @@
 package com.quickshow.backend.controller;
 
+import com.quickshow.backend.dto.BulkShowResponse;
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.dto.SeatMapResponse;
+import com.quickshow.backend.dto.ShowScheduleTemplate;
+import com.quickshow.backend.dto.ShowtimeListing;
 import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.service.CatalogVersions;
+import com.quickshow.backend.service.ExportService;
+import com.quickshow.backend.service.FieldSelection;
+import com.quickshow.backend.service.IdempotencyService;
+import com.quickshow.backend.service.SeatEventBroadcaster;
+import com.quickshow.backend.service.SeatHoldService;
+import com.quickshow.backend.service.SeatInventoryService;
 import com.quickshow.backend.service.ShowService;
+import com.quickshow.backend.service.ShowtimeListingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -18,62 +41,173 @@ public class ShowController {
     @Autowired
     private ShowService showService;
 
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatEventBroadcaster seatEventBroadcaster;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ShowtimeListingService showtimeListingService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping
-    public ResponseEntity<List<Show>> getAllShows() {
-        List<Show> shows = showService.getAllShows();
-        return ResponseEntity.ok(shows);
+    public ResponseEntity<CursorPage<Show>> getAllShows(@RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(showService.getAllShows(after, limit));
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportShows(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String theaterId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = exportService.exportShows(from, to, theaterId, csv);
+        if (body == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"shows." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    // read from Mongo every time so seat counts are current; a match only saves serializing it
     @GetMapping("/{id}")
-    public ResponseEntity<Show> getShowById(@PathVariable String id) {
+    public ResponseEntity<Show> getShowById(@PathVariable String id, WebRequest request) {
         Optional<Show> show = showService.getShowById(id);
-        return show.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (show.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = CatalogVersions.show(show.get());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(show.get());
     }
 
     @GetMapping("/movie/{movieId}")
-    public ResponseEntity<List<Show>> getShowsByMovie(@PathVariable String movieId) {
-        List<Show> shows = showService.getShowsByMovie(movieId);
-        return ResponseEntity.ok(shows);
+    public ResponseEntity<CursorPage<Show>> getShowsByMovie(@PathVariable String movieId,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(showService.getShowsByMovie(movieId, after, limit));
     }
 
     @GetMapping("/theater/{theaterId}")
-    public ResponseEntity<List<Show>> getShowsByTheater(@PathVariable String theaterId) {
-        List<Show> shows = showService.getShowsByTheater(theaterId);
-        return ResponseEntity.ok(shows);
+    public ResponseEntity<CursorPage<Show>> getShowsByTheater(@PathVariable String theaterId,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(showService.getShowsByTheater(theaterId, after, limit));
     }
 
     @GetMapping("/movie/{movieId}/date/{showDate}")
-    public ResponseEntity<List<Show>> getShowsByMovieAndDate(
+    public ResponseEntity<CursorPage<?>> getShowsByMovieAndDate(
             @PathVariable String movieId,
-            @PathVariable String showDate) {
+            @PathVariable String showDate,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection.Fields<Show> selected = FieldSelection.SHOWS.parse(fields);
+        if (fields != null && selected == null) {
+            return ResponseEntity.badRequest().build();
+        }
         LocalDate date = LocalDate.parse(showDate);
         List<Show> shows = showService.getShowsByMovieAndDate(movieId, date);
-        return ResponseEntity.ok(shows);
+        return showtimePage(shows, after, limit, selected, request);
+    }
+
+    @GetMapping("/movie/{movieId}/date/{showDate}/listing")
+    public ResponseEntity<ShowtimeListing> getShowtimeListing(
+            @PathVariable String movieId,
+            @PathVariable String showDate,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        LocalDate date = LocalDate.parse(showDate);
+        Optional<ShowtimeListing> listing = showtimeListingService.getListing(movieId, date, city, after, limit);
+        return listing.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/theater/{theaterId}/date/{showDate}")
-    public ResponseEntity<List<Show>> getShowsByTheaterAndDate(
+    public ResponseEntity<CursorPage<?>> getShowsByTheaterAndDate(
             @PathVariable String theaterId,
-            @PathVariable String showDate) {
+            @PathVariable String showDate,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection.Fields<Show> selected = FieldSelection.SHOWS.parse(fields);
+        if (fields != null && selected == null) {
+            return ResponseEntity.badRequest().build();
+        }
         LocalDate date = LocalDate.parse(showDate);
         List<Show> shows = showService.getShowsByTheaterAndDate(theaterId, date);
-        return ResponseEntity.ok(shows);
+        return showtimePage(shows, after, limit, selected, request);
     }
 
     @PostMapping
     public ResponseEntity<Show> createShow(@RequestBody Show show) {
         Show createdShow = showService.createShow(show);
+        if (createdShow == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.ok(createdShow);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkShowResponse> createShows(@RequestBody List<Show> shows) {
+        if (shows == null || shows.isEmpty() || shows.size() > showService.getMaxBulkSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(showService.createShows(shows));
+    }
+
+    @PostMapping("/bulk/template")
+    public ResponseEntity<BulkShowResponse> createShowsFromTemplate(@RequestBody ShowScheduleTemplate template) {
+        List<Show> shows = showService.expandTemplate(template);
+        if (shows == null || shows.isEmpty() || shows.size() > showService.getMaxBulkSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(showService.createShows(shows));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Show> updateShow(@PathVariable String id, @RequestBody Show showDetails) {
+        if (showService.getShowById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
         Show updatedShow = showService.updateShow(id, showDetails);
-        if (updatedShow != null) {
-            return ResponseEntity.ok(updatedShow);
+        if (updatedShow == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-        return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(updatedShow);
     }
 
     @DeleteMapping("/{id}")
@@ -84,4 +218,81 @@ public class ShowController {
         }
         return ResponseEntity.notFound().build();
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<SeatMapResponse> getSeatMap(
+            @PathVariable String id,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long sinceVersion) {
+        Optional<SeatMapResponse> seatMap = seatInventoryService.getSeatMapView(id, epoch, sinceVersion);
+        return seatMap.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeats(@PathVariable String id) {
+        if (seatInventoryService.getSeatMap(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(seatEventBroadcaster.subscribe(id));
+    }
+
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<Ticket> placeHold(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                            @PathVariable String id, @RequestBody Ticket hold) {
+        return idempotencyService.execute(idempotencyKey, "POST /shows/" + id + "/holds", hold, Ticket.class, () -> {
+            Ticket placedHold = seatHoldService.placeHold(id, hold.getUserId(), hold.getSeatNumbers());
+            if (placedHold != null) {
+                return ResponseEntity.ok(placedHold);
+            }
+            return ResponseEntity.badRequest().build();
+        });
+    }
+
+    @PutMapping("/{id}/holds/{holdId}/confirm")
+    public ResponseEntity<Ticket> confirmHold(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @PathVariable String id,
+            @PathVariable String holdId,
+            @RequestBody(required = false) Ticket payment) {
+        String paymentMethod = payment != null ? payment.getPaymentMethod() : null;
+        return idempotencyService.execute(idempotencyKey, "PUT /shows/" + id + "/holds/" + holdId + "/confirm", payment,
+                Ticket.class, () -> {
+                    Ticket confirmedTicket = seatHoldService.confirmHold(id, holdId, paymentMethod);
+                    if (confirmedTicket != null) {
+                        return ResponseEntity.ok(confirmedTicket);
+                    }
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
+    @DeleteMapping("/{id}/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String id, @PathVariable String holdId) {
+        boolean released = seatHoldService.releaseHold(id, holdId);
+        if (released) {
+            return ResponseEntity.ok().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    // null once checkNotModified has answered 304; the page is only built for a 200. The shows
+    // usually come from the in-memory showtime index, so a selection is applied here.
+    private static ResponseEntity<CursorPage<?>> showtimePage(List<Show> shows, String after, int limit,
+                                                              FieldSelection.Fields<Show> selected, WebRequest request) {
+        String etag = CatalogVersions.withFields(CatalogVersions.shows(shows), selected);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPage<Show> page = CursorPage.slice(shows, after, limit, ShowController::showtimeCursor);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(selected == null ? page : page.map(selected::apply));
+    }
+
+    // orders a day's shows by start time; zero-padded so the strings sort like the times
+    private static String showtimeCursor(Show show) {
+        int second = show.getShowTime() == null ? 99999 : show.getShowTime().toSecondOfDay();
+        return String.format("%05d-%s", second, show.getId());
+    }
+}
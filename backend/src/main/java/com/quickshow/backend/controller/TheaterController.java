@@ -1,12 +1,16 @@
 package com.quickshow.backend.controller;
 
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.service.CatalogVersions;
+import com.quickshow.backend.service.FieldSelection;
 import com.quickshow.backend.service.TheaterService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -18,22 +22,46 @@ public class TheaterController {
     private TheaterService theaterService;
 
     @GetMapping
-    public ResponseEntity<List<Theater>> getAllTheaters() {
-        List<Theater> theaters = theaterService.getAllTheaters();
-        return ResponseEntity.ok(theaters);
+    public ResponseEntity<CursorPage<?>> getAllTheaters(@RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = "50") int limit,
+                                                        @RequestParam(required = false) String fields,
+                                                        WebRequest request) {
+        FieldSelection.Fields<Theater> selected = FieldSelection.THEATERS.parse(fields);
+        if (!CursorPage.isValidIdCursor(after) || (fields != null && selected == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return page(theaterService.getAllTheaters(after, limit, selected), selected, request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Theater> getTheaterById(@PathVariable String id) {
+    public ResponseEntity<Theater> getTheaterById(@PathVariable String id, WebRequest request) {
         Optional<Theater> theater = theaterService.getTheaterById(id);
-        return theater.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (theater.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = CatalogVersions.theater(theater.get());
+        long lastModified = CatalogVersions.lastModified(theater.get().getUpdatedAt());
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(theater.get());
     }
 
     @GetMapping("/city/{city}")
-    public ResponseEntity<List<Theater>> getTheatersByCity(@PathVariable String city) {
-        List<Theater> theaters = theaterService.getTheatersByCity(city);
-        return ResponseEntity.ok(theaters);
+    public ResponseEntity<CursorPage<?>> getTheatersByCity(@PathVariable String city,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam(defaultValue = "50") int limit,
+                                                           @RequestParam(required = false) String fields,
+                                                           WebRequest request) {
+        FieldSelection.Fields<Theater> selected = FieldSelection.THEATERS.parse(fields);
+        if (!CursorPage.isValidIdCursor(after) || (fields != null && selected == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return page(theaterService.getTheatersByCity(city, after, limit, selected), selected, request);
     }
 
     @PostMapping
@@ -59,4 +87,18 @@ public class TheaterController {
         }
         return ResponseEntity.notFound().build();
     }
-} 
\ No newline at end of file
+
+    // null once checkNotModified has answered 304; the page is only built for a 200
+    private static ResponseEntity<CursorPage<?>> page(CursorPage<Theater> page, FieldSelection.Fields<Theater> selected,
+                                                      WebRequest request) {
+        String etag = CatalogVersions.withFields(CatalogVersions.withNextCursor(
+                CatalogVersions.theaters(page.getItems()), page.getNextCursor()), selected);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(selected == null ? page : page.map(selected::apply));
+    }
+}
@@ -1,11 +1,22 @@
 package com.quickshow.backend.controller;
 
+import com.quickshow.backend.dto.BatchBookingResponse;
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.service.ExportService;
+import com.quickshow.backend.service.IdempotencyService;
 import com.quickshow.backend.service.TicketBookingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,10 +28,39 @@ public class TicketController {
     @Autowired
     private TicketBookingService ticketBookingService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        List<Ticket> tickets = ticketBookingService.getAllTickets();
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<CursorPage<Ticket>> getAllTickets(@RequestParam(required = false) String after,
+                                                            @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketBookingService.getAllTickets(after, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String theaterId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = exportService.exportTickets(from, to, theaterId, csv);
+        if (body == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -31,34 +71,76 @@ public class TicketController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Ticket>> getTicketsByUser(@PathVariable String userId) {
-        List<Ticket> tickets = ticketBookingService.getTicketsByUser(userId);
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<CursorPage<Ticket>> getTicketsByUser(@PathVariable String userId,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketBookingService.getTicketsByUser(userId, after, limit));
     }
 
     @GetMapping("/show/{showId}")
-    public ResponseEntity<List<Ticket>> getTicketsByShow(@PathVariable String showId) {
-        List<Ticket> tickets = ticketBookingService.getTicketsByShow(showId);
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<CursorPage<Ticket>> getTicketsByShow(@PathVariable String showId,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketBookingService.getTicketsByShow(showId, after, limit));
     }
 
     @GetMapping("/status/{bookingStatus}")
-    public ResponseEntity<List<Ticket>> getTicketsByStatus(@PathVariable String bookingStatus) {
-        List<Ticket> tickets = ticketBookingService.getTicketsByStatus(bookingStatus);
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<CursorPage<Ticket>> getTicketsByStatus(@PathVariable String bookingStatus,
+                                                 @RequestParam(required = false) String after,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ticketBookingService.getTicketsByStatus(bookingStatus, after, limit));
     }
 
     @PostMapping
-    public ResponseEntity<Ticket> createTicket(@RequestBody Ticket ticket) {
-        Ticket createdTicket = ticketBookingService.createTicket(ticket);
-        if (createdTicket != null) {
-            return ResponseEntity.ok(createdTicket);
+    public ResponseEntity<Ticket> createTicket(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                               @RequestBody Ticket ticket) {
+        return idempotencyService.execute(idempotencyKey, "POST /tickets", ticket, Ticket.class, () -> {
+            if (!ticketBookingService.isValidBooking(ticket)) {
+                return ResponseEntity.badRequest().build();
+            }
+            Ticket createdTicket = ticketBookingService.createTicket(ticket);
+            if (createdTicket != null) {
+                return ResponseEntity.ok(createdTicket);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createTickets(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                              @RequestBody List<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty() || tickets.size() > ticketBookingService.getMaxBatchSize()) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.badRequest().build();
+        return idempotencyService.execute(idempotencyKey, "POST /tickets/batch", tickets, BatchBookingResponse.class, () -> {
+            BatchBookingResponse response = ticketBookingService.createTickets(tickets);
+            if (response.isBooked()) {
+                return ResponseEntity.ok(response);
+            }
+            boolean invalid = response.getItems().stream()
+                    .anyMatch(item -> "INVALID".equals(item.getStatus()) || "DUPLICATE_SEAT".equals(item.getStatus()));
+            return ResponseEntity.status(invalid ? HttpStatus.BAD_REQUEST : HttpStatus.CONFLICT).body(response);
+        });
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Ticket> updateTicket(@PathVariable String id, @RequestBody Ticket ticketDetails) {
+        Optional<Ticket> existingTicket = ticketBookingService.getTicketById(id);
+        if (existingTicket.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ticketBookingService.changesSeatsOrStatus(existingTicket.get(), ticketDetails)) {
+            return ResponseEntity.badRequest().build();
+        }
         Ticket updatedTicket = ticketBookingService.updateTicket(id, ticketDetails);
         if (updatedTicket != null) {
             return ResponseEntity.ok(updatedTicket);
@@ -67,12 +149,15 @@ public class TicketController {
     }
 
     @PutMapping("/{id}/cancel")
-    public ResponseEntity<Void> cancelTicket(@PathVariable String id) {
-        boolean cancelled = ticketBookingService.cancelTicket(id);
-        if (cancelled) {
-            return ResponseEntity.ok().build();
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<Void> cancelTicket(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                             @PathVariable String id) {
+        return idempotencyService.execute(idempotencyKey, "PUT /tickets/{id}/cancel", id, Void.class, () -> {
+            boolean cancelled = ticketBookingService.cancelTicket(id);
+            if (cancelled) {
+                return ResponseEntity.ok().build();
+            }
+            return ResponseEntity.notFound().build();
+        });
     }
 
     @DeleteMapping("/{id}")
@@ -1,12 +1,12 @@
 package com.quickshow.backend.controller;
 
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.User;
 import com.quickshow.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -18,9 +18,12 @@ public class UserController {
     private UserService userService;
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPage<User>> getAllUsers(@RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        if (!CursorPage.isValidIdCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getAllUsers(after, limit));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,46 @@
+package com.quickshow.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.quickshow.backend.model.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /tickets/batch. A batch is all-or-nothing: either {@code booked} is true and
+ * every item carries its ticket, or nothing was booked and the items say which ones failed
+ * (INVALID, DUPLICATE_SEAT, SEATS_UNAVAILABLE) and which were rolled back (NOT_BOOKED).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+    private boolean booked;
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private int index;
+        private String status; // BOOKED, INVALID, DUPLICATE_SEAT, SEATS_UNAVAILABLE, NOT_BOOKED
+        private Ticket ticket;
+
+        // Manual getters and setters in case Lombok doesn't work
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public Ticket getTicket() { return ticket; }
+        public void setTicket(Ticket ticket) { this.ticket = ticket; }
+    }
+
+    // Manual getters and setters in case Lombok doesn't work
+    public boolean isBooked() { return booked; }
+    public void setBooked(boolean booked) { this.booked = booked; }
+    public List<Item> getItems() { return items; }
+    public void setItems(List<Item> items) { this.items = items; }
+}
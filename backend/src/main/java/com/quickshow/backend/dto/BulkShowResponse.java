@@ -0,0 +1,51 @@
+package com.quickshow.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk show insert. Rows are independent: valid rows are written even when others
+ * fail. Each row is CREATED (with its id), INVALID, DUPLICATE (that screen is already taken at
+ * that time) or FAILED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkShowResponse {
+    private int created;
+    private int failed;
+    private List<Row> rows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private int index;
+        private String status;
+        private String id;
+        private String message;
+
+        // Manual getters and setters in case Lombok doesn't work
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Manual getters and setters in case Lombok doesn't work
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    public List<Row> getRows() { return rows; }
+    public void setRows(List<Row> rows) { this.rows = rows; }
+}
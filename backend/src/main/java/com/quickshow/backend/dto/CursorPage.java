@@ -0,0 +1,80 @@
+package com.quickshow.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint. Pass {@code nextCursor} back as {@code ?after=} to get the
+ * following page; it is null on the last page. Cursors are opaque to clients.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    // sorts before every ObjectId, so it serves as the cursor of the first page
+    public static final String FIRST_ID = "000000000000000000000000";
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Cursors of Mongo-backed lists are document ids.
+     */
+    public static boolean isValidIdCursor(String after) {
+        return after == null || ObjectId.isValid(after);
+    }
+
+    public static String startAfter(String after) {
+        return after == null ? FIRST_ID : after;
+    }
+
+    /**
+     * Builds a page from a keyset query that asked for {@code limit + 1} rows, the extra one
+     * only telling whether there is a next page.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)), true);
+    }
+
+    /**
+     * Pages through a list already held in memory, ordered by {@code cursorOf}.
+     */
+    public static <T> CursorPage<T> slice(List<T> all, String after, int limit, Function<T, String> cursorOf) {
+        int pageSize = clampLimit(limit);
+        return of(all.stream()
+                .filter(item -> after == null || cursorOf.apply(item).compareTo(after) > 0)
+                .sorted(Comparator.comparing(cursorOf))
+                .limit(pageSize + 1L)
+                .toList(), pageSize, cursorOf);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+
+    // Manual getters and setters in case Lombok doesn't work
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,52 @@
+package com.quickshow.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Seat occupancy for one show. A full response carries {@code seats}: base64 of a bitset where
+ * bit i (byte i / 8, bit i % 8) is seat i counted row by row, so with 10 seats per row "B7" is
+ * bit 16. A delta response ({@code full == false}) lists only the seats claimed and released
+ * since the requested version. {@code seatVersion} counts seat changes on this node's map and is
+ * only comparable within the same {@code epoch}; seat stream events carry the same pair.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatMapResponse {
+    private String showId;
+    private String epoch;
+    private long seatVersion;
+    private boolean full;
+    private int totalSeats;
+    private int seatsPerRow;
+    private int availableSeats;
+    private String seats;
+    private List<String> claimed;
+    private List<String> released;
+
+    // Manual getters and setters in case Lombok doesn't work
+    public String getShowId() { return showId; }
+    public void setShowId(String showId) { this.showId = showId; }
+    public String getEpoch() { return epoch; }
+    public void setEpoch(String epoch) { this.epoch = epoch; }
+    public long getSeatVersion() { return seatVersion; }
+    public void setSeatVersion(long seatVersion) { this.seatVersion = seatVersion; }
+    public boolean isFull() { return full; }
+    public void setFull(boolean full) { this.full = full; }
+    public int getTotalSeats() { return totalSeats; }
+    public void setTotalSeats(int totalSeats) { this.totalSeats = totalSeats; }
+    public int getSeatsPerRow() { return seatsPerRow; }
+    public void setSeatsPerRow(int seatsPerRow) { this.seatsPerRow = seatsPerRow; }
+    public int getAvailableSeats() { return availableSeats; }
+    public void setAvailableSeats(int availableSeats) { this.availableSeats = availableSeats; }
+    public String getSeats() { return seats; }
+    public void setSeats(String seats) { this.seats = seats; }
+    public List<String> getClaimed() { return claimed; }
+    public void setClaimed(List<String> claimed) { this.claimed = claimed; }
+    public List<String> getReleased() { return released; }
+    public void setReleased(List<String> released) { this.released = released; }
+}
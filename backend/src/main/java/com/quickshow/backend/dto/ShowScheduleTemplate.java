@@ -0,0 +1,44 @@
+package com.quickshow.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * "This movie, on these screens, at these times, on these dates." Expands to one show per
+ * screen, date and time. Seats and show type default to the theater's screen when left out.
+ */
+@Data
+@NoArgsConstructor
+public class ShowScheduleTemplate {
+    private String movieId;
+    private String theaterId;
+    private List<String> screenNumbers;
+    private List<LocalTime> showTimes;
+    private List<LocalDate> showDates;
+    private BigDecimal ticketPrice;
+    private Integer totalSeats;
+    private String showType;
+
+    // Manual getters and setters in case Lombok doesn't work
+    public String getMovieId() { return movieId; }
+    public void setMovieId(String movieId) { this.movieId = movieId; }
+    public String getTheaterId() { return theaterId; }
+    public void setTheaterId(String theaterId) { this.theaterId = theaterId; }
+    public List<String> getScreenNumbers() { return screenNumbers; }
+    public void setScreenNumbers(List<String> screenNumbers) { this.screenNumbers = screenNumbers; }
+    public List<LocalTime> getShowTimes() { return showTimes; }
+    public void setShowTimes(List<LocalTime> showTimes) { this.showTimes = showTimes; }
+    public List<LocalDate> getShowDates() { return showDates; }
+    public void setShowDates(List<LocalDate> showDates) { this.showDates = showDates; }
+    public BigDecimal getTicketPrice() { return ticketPrice; }
+    public void setTicketPrice(BigDecimal ticketPrice) { this.ticketPrice = ticketPrice; }
+    public Integer getTotalSeats() { return totalSeats; }
+    public void setTotalSeats(Integer totalSeats) { this.totalSeats = totalSeats; }
+    public String getShowType() { return showType; }
+    public void setShowType(String showType) { this.showType = showType; }
+}
@@ -0,0 +1,97 @@
+package com.quickshow.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A movie's shows on one date, grouped by theater, with what a showtime picker needs already
+ * attached: the movie summary, each theater's name and address, and each show's screen type
+ * and features. {@code items} are the theaters, paged like any list endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeListing {
+    private Map<String, Object> movie;
+    private LocalDate showDate;
+    private List<TheaterShowtimes> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TheaterShowtimes {
+        private String theaterId;
+        private String name;
+        private String address;
+        private String city;
+        private List<Showtime> shows;
+
+        // Manual getters and setters in case Lombok doesn't work
+        public String getTheaterId() { return theaterId; }
+        public void setTheaterId(String theaterId) { this.theaterId = theaterId; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getAddress() { return address; }
+        public void setAddress(String address) { this.address = address; }
+        public String getCity() { return city; }
+        public void setCity(String city) { this.city = city; }
+        public List<Showtime> getShows() { return shows; }
+        public void setShows(List<Showtime> shows) { this.shows = shows; }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Showtime {
+        private String id;
+        private LocalTime showTime;
+        private String screenNumber;
+        private String screenType;
+        private List<String> features;
+        private String showType;
+        private BigDecimal ticketPrice;
+        private int availableSeats;
+        private int totalSeats;
+
+        // Manual getters and setters in case Lombok doesn't work
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public LocalTime getShowTime() { return showTime; }
+        public void setShowTime(LocalTime showTime) { this.showTime = showTime; }
+        public String getScreenNumber() { return screenNumber; }
+        public void setScreenNumber(String screenNumber) { this.screenNumber = screenNumber; }
+        public String getScreenType() { return screenType; }
+        public void setScreenType(String screenType) { this.screenType = screenType; }
+        public List<String> getFeatures() { return features; }
+        public void setFeatures(List<String> features) { this.features = features; }
+        public String getShowType() { return showType; }
+        public void setShowType(String showType) { this.showType = showType; }
+        public BigDecimal getTicketPrice() { return ticketPrice; }
+        public void setTicketPrice(BigDecimal ticketPrice) { this.ticketPrice = ticketPrice; }
+        public int getAvailableSeats() { return availableSeats; }
+        public void setAvailableSeats(int availableSeats) { this.availableSeats = availableSeats; }
+        public int getTotalSeats() { return totalSeats; }
+        public void setTotalSeats(int totalSeats) { this.totalSeats = totalSeats; }
+    }
+
+    // Manual getters and setters in case Lombok doesn't work
+    public Map<String, Object> getMovie() { return movie; }
+    public void setMovie(Map<String, Object> movie) { this.movie = movie; }
+    public LocalDate getShowDate() { return showDate; }
+    public void setShowDate(LocalDate showDate) { this.showDate = showDate; }
+    public List<TheaterShowtimes> getItems() { return items; }
+    public void setItems(List<TheaterShowtimes> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,54 @@
+package com.quickshow.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One Mongo command that took longer than {@code quickshow.mongo.profiler.slow-millis}.
+ * {@code method} is the repository method that issued it, e.g.
+ * ShowRepository.findByMovieIdAndShowDateAndIsActiveTrue. {@code plan} lists the winning plan's
+ * stages and is only filled in when asked for with {@code ?explain=true}.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SlowQuery {
+    private Instant at;
+    private String method;
+    private String collection;
+    private String command;
+    private double millis;
+    private int documents;
+    private int bytes;
+    private String filter;
+    private String sort;
+    private String plan;
+    private String error;
+
+    // Manual getters and setters in case Lombok doesn't work
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+    public String getMethod() { return method; }
+    public void setMethod(String method) { this.method = method; }
+    public String getCollection() { return collection; }
+    public void setCollection(String collection) { this.collection = collection; }
+    public String getCommand() { return command; }
+    public void setCommand(String command) { this.command = command; }
+    public double getMillis() { return millis; }
+    public void setMillis(double millis) { this.millis = millis; }
+    public int getDocuments() { return documents; }
+    public void setDocuments(int documents) { this.documents = documents; }
+    public int getBytes() { return bytes; }
+    public void setBytes(int bytes) { this.bytes = bytes; }
+    public String getFilter() { return filter; }
+    public void setFilter(String filter) { this.filter = filter; }
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+    public String getPlan() { return plan; }
+    public void setPlan(String plan) { this.plan = plan; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
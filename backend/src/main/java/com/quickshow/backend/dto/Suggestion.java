@@ -0,0 +1,28 @@
+package com.quickshow.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One typeahead completion. {@code type} is movie, director, cast, theater or city; {@code id}
+ * is set for movies and theaters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Suggestion {
+    private String text;
+    private String type;
+    private String id;
+
+    // Manual getters and setters in case Lombok doesn't work
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+}
@@ -0,0 +1,43 @@
+package com.quickshow.backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * An Idempotency-Key shared between replicas (quickshow.idempotency.store=mongo). Mongo's TTL
+ * monitor deletes it once {@code expiresAt} has passed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    private String id; // the Idempotency-Key
+    private String fingerprint; // operation and request body the key was first used with
+    private String state; // PENDING, DONE
+    private int status;
+    private String body; // JSON of the original response body
+    @Indexed(name = "expires_at", expireAfter = "0s")
+    private Date expiresAt;
+
+    // Manual getters and setters in case Lombok doesn't work
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    public int getStatus() { return status; }
+    public void setStatus(int status) { this.status = status; }
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -13,9 +16,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "movies")
+@CompoundIndexes({
+        @CompoundIndex(name = "genre_id", def = "{'genre': 1, '_id': 1}"),
+        @CompoundIndex(name = "language_id", def = "{'language': 1, '_id': 1}"),
+        @CompoundIndex(name = "active_id", def = "{'isActive': 1, '_id': 1}")
+})
 public class Movie {
     @Id
     private String id;
+    @Indexed
     private String title;
     private String description;
     private String genre;
@@ -1,20 +1,35 @@
 package com.quickshow.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "shows")
+@CompoundIndexes({
+        @CompoundIndex(name = "movie_active_date_time", def = "{'movieId': 1, 'isActive': 1, 'showDate': 1, 'showTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "theater_active_date", def = "{'theaterId': 1, 'isActive': 1, 'showDate': 1}"),
+        @CompoundIndex(name = "active_date", def = "{'isActive': 1, 'showDate': 1}"),
+        @CompoundIndex(name = "movie_active_id", def = "{'movieId': 1, 'isActive': 1, '_id': 1}"),
+        @CompoundIndex(name = "theater_active_id", def = "{'theaterId': 1, 'isActive': 1, '_id': 1}"),
+        @CompoundIndex(name = "active_id", def = "{'isActive': 1, '_id': 1}"),
+        // one active show per screen and start time
+        @CompoundIndex(name = "screen_slot", def = "{'theaterId': 1, 'screenNumber': 1, 'showDate': 1, 'showTime': 1}",
+                unique = true, partialFilter = "{'isActive': true}")
+})
 public class Show {
     @Id
     private String id;
@@ -26,6 +41,9 @@ public class Show {
     private BigDecimal ticketPrice;
     private int totalSeats;
     private int availableSeats;
+    @JsonIgnore // served as a bitmap by GET /shows/{id}/seats
+    private List<String> bookedSeats; // seat numbers held or sold
+    private long seatVersion; // bumped on every seat claim/release
     private String showType; // 2D, 3D, IMAX, etc.
     private boolean isActive;
     private LocalDateTime createdAt;
@@ -50,6 +68,10 @@ public class Show {
     public void setTotalSeats(int totalSeats) { this.totalSeats = totalSeats; }
     public int getAvailableSeats() { return availableSeats; }
     public void setAvailableSeats(int availableSeats) { this.availableSeats = availableSeats; }
+    public List<String> getBookedSeats() { return bookedSeats; }
+    public void setBookedSeats(List<String> bookedSeats) { this.bookedSeats = bookedSeats; }
+    public long getSeatVersion() { return seatVersion; }
+    public void setSeatVersion(long seatVersion) { this.seatVersion = seatVersion; }
     public String getShowType() { return showType; }
     public void setShowType(String showType) { this.showType = showType; }
     public boolean isActive() { return isActive; }
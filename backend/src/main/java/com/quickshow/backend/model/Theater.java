@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -13,6 +16,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "theaters")
+@CompoundIndexes({
+        @CompoundIndex(name = "city_active_id", def = "{'city': 1, 'isActive': 1, '_id': 1}"),
+        @CompoundIndex(name = "active_id", def = "{'isActive': 1, '_id': 1}")
+})
 public class Theater {
     @Id
     private String id;
@@ -25,6 +32,7 @@ public class Theater {
     private String email;
     private List<Screen> screens;
     private List<String> amenities;
+    @Indexed
     private boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
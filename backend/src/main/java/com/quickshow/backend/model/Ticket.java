@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -14,6 +16,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "tickets")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_id", def = "{'userId': 1, '_id': 1}"),
+        @CompoundIndex(name = "show_id", def = "{'showId': 1, '_id': 1}"),
+        @CompoundIndex(name = "status_id", def = "{'bookingStatus': 1, '_id': 1}"),
+        @CompoundIndex(name = "status_hold_expiry", def = "{'bookingStatus': 1, 'holdExpiresAt': 1}"),
+        @CompoundIndex(name = "theater_booking_date", def = "{'theaterId': 1, 'bookingDate': 1}"),
+        @CompoundIndex(name = "booking_date", def = "{'bookingDate': 1}")
+})
 public class Ticket {
     @Id
     private String id;
@@ -23,11 +33,12 @@ public class Ticket {
     private String theaterId;
     private List<String> seatNumbers;
     private BigDecimal totalAmount;
-    private String bookingStatus; // CONFIRMED, CANCELLED, PENDING
+    private String bookingStatus; // CONFIRMED, CANCELLED, PENDING, EXPIRED
     private String paymentStatus; // PAID, PENDING, FAILED
     private String paymentMethod;
     private LocalDateTime bookingDate;
     private LocalDateTime showDateTime;
+    private LocalDateTime holdExpiresAt; // set while the booking is a PENDING seat hold
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -68,6 +79,9 @@ public class Ticket {
     public LocalDateTime getShowDateTime() { return showDateTime; }
     public void setShowDateTime(LocalDateTime showDateTime) { this.showDateTime = showDateTime; }
     
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
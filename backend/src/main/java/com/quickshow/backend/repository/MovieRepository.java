@@ -1,15 +1,19 @@
 package com.quickshow.backend.repository;
 
 import com.quickshow.backend.model.Movie;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface MovieRepository extends MongoRepository<Movie, String> {
+public interface MovieRepository extends MongoRepository<Movie, String>, MovieRepositoryCustom {
     List<Movie> findByIsActiveTrue();
     List<Movie> findByGenre(String genre);
     List<Movie> findByTitleContainingIgnoreCase(String title);
     List<Movie> findByLanguage(String language);
+    List<Movie> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit);
+    List<Movie> findByGenreAndIdGreaterThanOrderByIdAsc(String genre, String after, Limit limit);
+    List<Movie> findByLanguageAndIdGreaterThanOrderByIdAsc(String language, String after, Limit limit);
 } 
\ No newline at end of file
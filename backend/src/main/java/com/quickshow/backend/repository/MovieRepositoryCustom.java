@@ -0,0 +1,19 @@
+package com.quickshow.backend.repository;
+
+import com.quickshow.backend.model.Movie;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MovieRepositoryCustom {
+    // Keyset page like findByIsActiveTrueAndIdGreaterThanOrderByIdAsc, with only the given fields
+    // read from Mongo; the rest are left null.
+    List<Movie> findActiveWithFields(String after, Limit limit, Collection<String> fields);
+
+    // Keyset page like findByGenreAndIdGreaterThanOrderByIdAsc, with only the given fields read.
+    List<Movie> findByGenreWithFields(String genre, String after, Limit limit, Collection<String> fields);
+
+    // Keyset page like findByLanguageAndIdGreaterThanOrderByIdAsc, with only the given fields read.
+    List<Movie> findByLanguageWithFields(String language, String after, Limit limit, Collection<String> fields);
+}
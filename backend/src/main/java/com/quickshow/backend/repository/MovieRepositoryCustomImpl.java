@@ -0,0 +1,39 @@
+package com.quickshow.backend.repository;
+
+import com.quickshow.backend.model.Movie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public class MovieRepositoryCustomImpl implements MovieRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Movie> findActiveWithFields(String after, Limit limit, Collection<String> fields) {
+        return findPage(Criteria.where("isActive").is(true), after, limit, fields);
+    }
+
+    @Override
+    public List<Movie> findByGenreWithFields(String genre, String after, Limit limit, Collection<String> fields) {
+        return findPage(Criteria.where("genre").is(genre), after, limit, fields);
+    }
+
+    @Override
+    public List<Movie> findByLanguageWithFields(String language, String after, Limit limit, Collection<String> fields) {
+        return findPage(Criteria.where("language").is(language), after, limit, fields);
+    }
+
+    private List<Movie> findPage(Criteria criteria, String after, Limit limit, Collection<String> fields) {
+        Query query = new Query(criteria.and("id").gt(after)).with(Sort.by("id")).limit(limit);
+        query.fields().include(fields.toArray(new String[0]));
+        return mongoTemplate.find(query, Movie.class);
+    }
+}
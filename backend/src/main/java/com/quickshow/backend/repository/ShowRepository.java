@@ -1,6 +1,7 @@
 package com.quickshow.backend.repository;
 
 import com.quickshow.backend.model.Show;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,10 +9,14 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface ShowRepository extends MongoRepository<Show, String> {
-    List<Show> findByMovieIdAndShowDateAndIsActiveTrue(String movieId, LocalDate showDate);
-    List<Show> findByTheaterIdAndShowDateAndIsActiveTrue(String theaterId, LocalDate showDate);
+public interface ShowRepository extends MongoRepository<Show, String>, ShowRepositoryCustom {
+    List<Show> findByMovieIdAndShowDateAndIsActiveTrue(String movieId, LocalDate showDate, Limit limit);
+    List<Show> findByTheaterIdAndShowDateAndIsActiveTrue(String theaterId, LocalDate showDate, Limit limit);
     List<Show> findByMovieIdAndIsActiveTrue(String movieId);
     List<Show> findByTheaterIdAndIsActiveTrue(String theaterId);
     List<Show> findByIsActiveTrue();
+    List<Show> findByShowDateGreaterThanEqualAndIsActiveTrue(LocalDate showDate);
+    List<Show> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit);
+    List<Show> findByMovieIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String movieId, String after, Limit limit);
+    List<Show> findByTheaterIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String theaterId, String after, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.quickshow.backend.repository;
+
+import com.quickshow.backend.model.Show;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ShowRepositoryCustom {
+    // Adds the seats to bookedSeats only if none of them is taken yet, in one conditional update.
+    boolean claimSeats(String showId, List<String> seatNumbers);
+
+    // Same claim, but guarded on seatVersion instead of on the seats themselves.
+    boolean claimSeats(String showId, List<String> seatNumbers, long expectedSeatVersion);
+
+    // Frees the seats only if every one of them is in bookedSeats; false otherwise.
+    boolean releaseSeats(String showId, List<String> seatNumbers);
+
+    // True if any of the seats is in the show's bookedSeats.
+    boolean anySeatBooked(String showId, List<String> seatNumbers);
+
+    // Sets bookedSeats, and availableSeats to match, on a show written before bookedSeats existed; false if it has them.
+    boolean backfillBookedSeats(String showId, List<String> bookedSeats);
+
+    boolean adjustAvailableSeats(String showId, int seatsBooked);
+
+    // Writes the schedule fields without touching bookedSeats or seatVersion; availableSeats follows totalSeats.
+    Show updateDetails(String showId, Show showDetails);
+
+    boolean deactivate(String showId);
+
+    // One unordered bulk insert; returns the error message of every row that was not written, by position.
+    Map<Integer, String> insertUnordered(List<Show> shows);
+
+    // Cursor over shows dated within [from, to], any bound may be null; the caller must close it.
+    Stream<Show> streamForExport(LocalDate from, LocalDate to, String theaterId, int batchSize);
+}
@@ -0,0 +1,170 @@
+package com.quickshow.backend.repository;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import com.quickshow.backend.model.Show;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ShowRepositoryCustomImpl implements ShowRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${quickshow.export.read-preference:secondaryPreferred}")
+    private String exportReadPreference;
+
+    @Override
+    public boolean claimSeats(String showId, List<String> seatNumbers) {
+        Query query = new Query(Criteria.where("id").is(showId)
+                .and("isActive").is(true)
+                .and("bookedSeats").nin(seatNumbers)
+                .and("availableSeats").gte(seatNumbers.size()));
+        return mongoTemplate.updateFirst(query, claimUpdate(seatNumbers), Show.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean claimSeats(String showId, List<String> seatNumbers, long expectedSeatVersion) {
+        Criteria version = expectedSeatVersion == 0
+                ? new Criteria().orOperator(Criteria.where("seatVersion").is(0L), Criteria.where("seatVersion").exists(false))
+                : Criteria.where("seatVersion").is(expectedSeatVersion);
+        Query query = new Query(new Criteria().andOperator(Criteria.where("id").is(showId), version));
+        return mongoTemplate.updateFirst(query, claimUpdate(seatNumbers), Show.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean releaseSeats(String showId, List<String> seatNumbers) {
+        Update update = new Update()
+                .pullAll("bookedSeats", seatNumbers.toArray())
+                .inc("availableSeats", seatNumbers.size())
+                .inc("seatVersion", 1)
+                .set("updatedAt", LocalDateTime.now());
+        // only seats that are still booked, so releasing twice cannot push availableSeats past totalSeats
+        Query query = new Query(Criteria.where("id").is(showId).and("bookedSeats").all(seatNumbers));
+        return mongoTemplate.updateFirst(query, update, Show.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean anySeatBooked(String showId, List<String> seatNumbers) {
+        return mongoTemplate.exists(new Query(Criteria.where("id").is(showId).and("bookedSeats").in(seatNumbers)), Show.class);
+    }
+
+    @Override
+    public boolean backfillBookedSeats(String showId, List<String> bookedSeats) {
+        Query query = new Query(Criteria.where("id").is(showId).and("bookedSeats").exists(false));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("bookedSeats").toValue(bookedSeats)
+                .set("availableSeats").toValueOf(ArithmeticOperators.Subtract.valueOf("totalSeats").subtract(bookedSeats.size()));
+        return mongoTemplate.updateFirst(query, update, Show.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean adjustAvailableSeats(String showId, int seatsBooked) {
+        Criteria criteria = Criteria.where("id").is(showId);
+        if (seatsBooked > 0) {
+            criteria = criteria.and("availableSeats").gte(seatsBooked);
+        }
+        Update update = new Update()
+                .inc("availableSeats", -seatsBooked)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(new Query(criteria), update, Show.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Show updateDetails(String showId, Show showDetails) {
+        // the first stage still sees the old totalSeats; seats claimed meanwhile are in bookedSeats
+        int totalSeats = showDetails.getTotalSeats();
+        Document availableSeats = new Document("$cond", List.of(
+                new Document("$isArray", "$bookedSeats"),
+                new Document("$subtract", List.of(totalSeats, new Document("$size", "$bookedSeats"))),
+                new Document("$add", List.of("$availableSeats", new Document("$subtract", List.of(totalSeats, "$totalSeats"))))));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("availableSeats").toValueOf((AggregationExpression) context -> availableSeats)
+                .set(SetOperation.builder()
+                        .set("movieId").toValue(showDetails.getMovieId())
+                        .and().set("theaterId").toValue(showDetails.getTheaterId())
+                        .and().set("screenNumber").toValue(showDetails.getScreenNumber())
+                        .and().set("showDate").toValue(showDetails.getShowDate())
+                        .and().set("showTime").toValue(showDetails.getShowTime())
+                        .and().set("ticketPrice").toValue(showDetails.getTicketPrice())
+                        .and().set("totalSeats").toValue(totalSeats)
+                        .and().set("showType").toValue(showDetails.getShowType())
+                        .and().set("updatedAt").toValue(LocalDateTime.now()));
+        return mongoTemplate.findAndModify(new Query(Criteria.where("id").is(showId)), update,
+                FindAndModifyOptions.options().returnNew(true), Show.class);
+    }
+
+    @Override
+    public boolean deactivate(String showId) {
+        Update update = new Update()
+                .set("isActive", false)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(new Query(Criteria.where("id").is(showId)), update, Show.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Show> shows) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (shows.isEmpty()) {
+            return failures;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Show.class).insert(shows).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getCode() == 11000 ? "DUPLICATE" : error.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Stream<Show> streamForExport(LocalDate from, LocalDate to, String theaterId, int batchSize) {
+        Criteria criteria = new Criteria();
+        if (theaterId != null) {
+            criteria.and("theaterId").is(theaterId);
+        }
+        if (from != null || to != null) {
+            Criteria showDate = criteria.and("showDate");
+            if (from != null) {
+                showDate.gte(from);
+            }
+            if (to != null) {
+                showDate.lte(to);
+            }
+        }
+        Query query = new Query(criteria)
+                .cursorBatchSize(batchSize)
+                .withReadPreference(ReadPreference.valueOf(exportReadPreference));
+        query.fields().exclude("bookedSeats");
+        return mongoTemplate.stream(query, Show.class);
+    }
+
+    private Update claimUpdate(List<String> seatNumbers) {
+        return new Update()
+                .addToSet("bookedSeats").each(seatNumbers.toArray())
+                .inc("availableSeats", -seatNumbers.size())
+                .inc("seatVersion", 1)
+                .set("updatedAt", LocalDateTime.now());
+    }
+}
@@ -1,14 +1,17 @@
 package com.quickshow.backend.repository;
 
 import com.quickshow.backend.model.Theater;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface TheaterRepository extends MongoRepository<Theater, String> {
+public interface TheaterRepository extends MongoRepository<Theater, String>, TheaterRepositoryCustom {
     List<Theater> findByIsActiveTrue();
     List<Theater> findByCity(String city);
     List<Theater> findByCityAndIsActiveTrue(String city);
+    List<Theater> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit);
+    List<Theater> findByCityAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String city, String after, Limit limit);
 } 
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.quickshow.backend.repository;
+
+import com.quickshow.backend.model.Theater;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TheaterRepositoryCustom {
+    // Keyset page like findByIsActiveTrueAndIdGreaterThanOrderByIdAsc, with only the given fields
+    // read from Mongo; the rest are left null.
+    List<Theater> findActiveWithFields(String after, Limit limit, Collection<String> fields);
+
+    // Keyset page like findByCityAndIsActiveTrueAndIdGreaterThanOrderByIdAsc, with only the given fields read.
+    List<Theater> findActiveByCityWithFields(String city, String after, Limit limit, Collection<String> fields);
+}
@@ -0,0 +1,34 @@
+package com.quickshow.backend.repository;
+
+import com.quickshow.backend.model.Theater;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public class TheaterRepositoryCustomImpl implements TheaterRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Theater> findActiveWithFields(String after, Limit limit, Collection<String> fields) {
+        return findPage(Criteria.where("isActive").is(true), after, limit, fields);
+    }
+
+    @Override
+    public List<Theater> findActiveByCityWithFields(String city, String after, Limit limit, Collection<String> fields) {
+        return findPage(Criteria.where("city").is(city).and("isActive").is(true), after, limit, fields);
+    }
+
+    private List<Theater> findPage(Criteria criteria, String after, Limit limit, Collection<String> fields) {
+        Query query = new Query(criteria.and("id").gt(after)).with(Sort.by("id")).limit(limit);
+        query.fields().include(fields.toArray(new String[0]));
+        return mongoTemplate.find(query, Theater.class);
+    }
+}
@@ -1,15 +1,24 @@
 package com.quickshow.backend.repository;
 
 import com.quickshow.backend.model.Ticket;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TicketRepository extends MongoRepository<Ticket, String> {
+public interface TicketRepository extends MongoRepository<Ticket, String>, TicketRepositoryCustom {
     List<Ticket> findByUserId(String userId);
     List<Ticket> findByShowId(String showId);
+    List<Ticket> findByShowIdAndBookingStatusIn(String showId, Collection<String> bookingStatuses);
     List<Ticket> findByBookingStatus(String bookingStatus);
     List<Ticket> findByUserIdAndBookingStatus(String userId, String bookingStatus);
+    List<Ticket> findByIdGreaterThanOrderByIdAsc(String after, Limit limit);
+    List<Ticket> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String after, Limit limit);
+    List<Ticket> findByShowIdAndIdGreaterThanOrderByIdAsc(String showId, String after, Limit limit);
+    List<Ticket> findByBookingStatusAndIdGreaterThanOrderByIdAsc(String bookingStatus, String after, Limit limit);
+    List<Ticket> findByBookingStatusAndHoldExpiresAtLessThanOrderByHoldExpiresAtAsc(String bookingStatus, LocalDateTime before, Limit limit);
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.quickshow.backend.repository;
+
+import com.quickshow.backend.model.Ticket;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface TicketRepositoryCustom {
+    // Moves the ticket to toStatus only if it is currently in one of fromStatuses.
+    boolean transitionBookingStatus(String ticketId, Collection<String> fromStatuses, String toStatus);
+
+    // Sets only the amount and payment fields, leaving seats and status to the booking paths; null if the ticket is gone.
+    Ticket updatePaymentDetails(String ticketId, BigDecimal totalAmount, String paymentStatus, String paymentMethod);
+
+    // Turns a PENDING hold that has not expired by `now` into a paid CONFIRMED ticket; null otherwise.
+    Ticket confirmHold(String ticketId, String showId, String paymentMethod, LocalDateTime now);
+
+    // Cursor over tickets booked in [from, to), any bound may be null; the caller must close it.
+    Stream<Ticket> streamForExport(LocalDateTime from, LocalDateTime to, String theaterId, int batchSize);
+}
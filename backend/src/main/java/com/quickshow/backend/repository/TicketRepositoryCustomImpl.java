@@ -0,0 +1,82 @@
+package com.quickshow.backend.repository;
+
+import com.mongodb.ReadPreference;
+import com.quickshow.backend.model.Ticket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public class TicketRepositoryCustomImpl implements TicketRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${quickshow.export.read-preference:secondaryPreferred}")
+    private String exportReadPreference;
+
+    @Override
+    public boolean transitionBookingStatus(String ticketId, Collection<String> fromStatuses, String toStatus) {
+        Query query = new Query(Criteria.where("id").is(ticketId).and("bookingStatus").in(fromStatuses));
+        Update update = new Update()
+                .set("bookingStatus", toStatus)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, Ticket.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Ticket updatePaymentDetails(String ticketId, BigDecimal totalAmount, String paymentStatus, String paymentMethod) {
+        Query query = new Query(Criteria.where("id").is(ticketId));
+        Update update = new Update()
+                .set("totalAmount", totalAmount)
+                .set("paymentStatus", paymentStatus)
+                .set("paymentMethod", paymentMethod)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Ticket.class);
+    }
+
+    @Override
+    public Ticket confirmHold(String ticketId, String showId, String paymentMethod, LocalDateTime now) {
+        Query query = new Query(Criteria.where("id").is(ticketId)
+                .and("showId").is(showId)
+                .and("bookingStatus").is("PENDING")
+                .and("holdExpiresAt").gt(now));
+        Update update = new Update()
+                .set("bookingStatus", "CONFIRMED")
+                .set("paymentStatus", "PAID")
+                .set("paymentMethod", paymentMethod)
+                .set("bookingDate", now)
+                .set("updatedAt", now)
+                .unset("holdExpiresAt");
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Ticket.class);
+    }
+
+    @Override
+    public Stream<Ticket> streamForExport(LocalDateTime from, LocalDateTime to, String theaterId, int batchSize) {
+        Criteria criteria = new Criteria();
+        if (theaterId != null) {
+            criteria.and("theaterId").is(theaterId);
+        }
+        if (from != null || to != null) {
+            Criteria bookingDate = criteria.and("bookingDate");
+            if (from != null) {
+                bookingDate.gte(from);
+            }
+            if (to != null) {
+                bookingDate.lt(to);
+            }
+        }
+        Query query = new Query(criteria)
+                .cursorBatchSize(batchSize)
+                .withReadPreference(ReadPreference.valueOf(exportReadPreference));
+        return mongoTemplate.stream(query, Ticket.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.quickshow.backend.repository;
 
 import com.quickshow.backend.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +15,5 @@ public interface UserRepository extends MongoRepository<User, String> {
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
     List<User> findByIsActiveTrue();
+    List<User> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit);
 } 
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.quickshow.backend.repository.inmemory;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.repository.MovieRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryMovieRepository extends InMemoryRepository<Movie> implements MovieRepository {
+
+    private final Index<Movie> active = index(Index.hash("active", movie -> movie.isActive() ? Boolean.TRUE : null));
+    private final Index<Movie> genre = index(Index.hash("genre", Movie::getGenre));
+    private final Index<Movie> language = index(Index.hash("language", Movie::getLanguage));
+
+    public InMemoryMovieRepository() {
+        super(Movie.class, Movie::getId);
+    }
+
+    @Override
+    protected void setId(Movie movie, String id) {
+        movie.setId(id);
+    }
+
+    @Override
+    protected Movie copy(Movie movie) {
+        Movie copy = new Movie();
+        copy.setId(movie.getId());
+        copy.setTitle(movie.getTitle());
+        copy.setDescription(movie.getDescription());
+        copy.setGenre(movie.getGenre());
+        copy.setDirector(movie.getDirector());
+        copy.setPosterUrl(movie.getPosterUrl());
+        copy.setTrailerUrl(movie.getTrailerUrl());
+        copy.setDuration(movie.getDuration());
+        copy.setRating(movie.getRating());
+        copy.setRatingScore(movie.getRatingScore());
+        copy.setLanguage(movie.getLanguage());
+        copy.setReleaseDate(movie.getReleaseDate());
+        copy.setCreatedAt(movie.getCreatedAt());
+        copy.setUpdatedAt(movie.getUpdatedAt());
+        copy.setCast(copyOf(movie.getCast()));
+        copy.setActive(movie.isActive());
+        return copy;
+    }
+
+    @Override
+    public List<Movie> findByIsActiveTrue() {
+        return find(active, Boolean.TRUE, Movie::isActive);
+    }
+
+    @Override
+    public List<Movie> findByGenre(String genre) {
+        return find(this.genre, genre, movie -> genre.equals(movie.getGenre()));
+    }
+
+    @Override
+    public List<Movie> findByTitleContainingIgnoreCase(String title) {
+        String needle = title.toLowerCase();
+        return scan(movie -> movie.getTitle() != null && movie.getTitle().toLowerCase().contains(needle));
+    }
+
+    @Override
+    public List<Movie> findByLanguage(String language) {
+        return find(this.language, language, movie -> language.equals(movie.getLanguage()));
+    }
+
+    @Override
+    public List<Movie> findByGenreAndIdGreaterThanOrderByIdAsc(String genre, String after, Limit limit) {
+        return findAfter(this.genre, genre, after, limit, movie -> genre.equals(movie.getGenre()));
+    }
+
+    @Override
+    public List<Movie> findByLanguageAndIdGreaterThanOrderByIdAsc(String language, String after, Limit limit) {
+        return findAfter(this.language, language, after, limit, movie -> language.equals(movie.getLanguage()));
+    }
+
+    @Override
+    public List<Movie> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit) {
+        return findAfter(active, Boolean.TRUE, after, limit, Movie::isActive);
+    }
+
+    // copies are cheap here, so every field is returned; the response is trimmed to the selection
+    @Override
+    public List<Movie> findActiveWithFields(String after, Limit limit, Collection<String> fields) {
+        return findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    @Override
+    public List<Movie> findByGenreWithFields(String genre, String after, Limit limit, Collection<String> fields) {
+        return findByGenreAndIdGreaterThanOrderByIdAsc(genre, after, limit);
+    }
+
+    @Override
+    public List<Movie> findByLanguageWithFields(String language, String after, Limit limit, Collection<String> fields) {
+        return findByLanguageAndIdGreaterThanOrderByIdAsc(language, after, limit);
+    }
+}
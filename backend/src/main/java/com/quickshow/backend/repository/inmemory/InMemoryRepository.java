@@ -0,0 +1,388 @@
+package com.quickshow.backend.repository.inmemory;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * MongoRepository kept in a concurrent map ordered by id, with {@link Index secondary indexes}
+ * for the derived queries. Documents are copied on the way in and out, like a round trip to
+ * Mongo, so callers can never change stored state without saving. Ids are ObjectId strings, and
+ * unique indexes throw {@link DuplicateKeyException} just like the Mongo driver does.
+ *
+ * <p>Every write to a document holds the lock stripe of its id, so single-document updates are
+ * atomic the way Mongo's are. (ConcurrentSkipListMap's compute methods are not: they may run the
+ * function again after losing a race, which would report a write that never landed.) In
+ * collections with a unique index, writes that may add a unique key also hold the repository
+ * monitor, taken before the stripe, so two of them cannot both pass the check.
+ * Query by example is not supported.
+ */
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    private final Class<T> type;
+    private final Function<T, String> getId;
+    private static final int WRITE_STRIPES = 64;
+
+    private final ConcurrentSkipListMap<String, T> documents = new ConcurrentSkipListMap<>();
+    private final Object[] writeLocks = new Object[WRITE_STRIPES];
+    private final List<Index<T>> indexes = new ArrayList<>();
+    private boolean hasUniqueIndexes;
+
+    protected InMemoryRepository(Class<T> type, Function<T, String> getId) {
+        this.type = type;
+        this.getId = getId;
+        for (int i = 0; i < WRITE_STRIPES; i++) {
+            writeLocks[i] = new Object();
+        }
+    }
+
+    protected abstract void setId(T document, String id);
+
+    protected final Index<T> index(Index<T> index) {
+        indexes.add(index);
+        hasUniqueIndexes |= index.isUnique();
+        return index;
+    }
+
+    // ---- queries used by the subclasses
+
+    protected final List<T> find(Index<T> index, Object key, Predicate<T> filter) {
+        return collect(index.ids(key).stream(), filter, Integer.MAX_VALUE);
+    }
+
+    protected final Optional<T> findOne(Index<T> index, Object key, Predicate<T> filter) {
+        return find(index, key, filter).stream().findFirst();
+    }
+
+    protected final List<T> findFrom(Index<T> index, Object from, Predicate<T> filter) {
+        return collect(index.idsFrom(from), filter, Integer.MAX_VALUE);
+    }
+
+    // keyset page over one index bucket, in id order
+    protected final List<T> findAfter(Index<T> index, Object key, String after, Limit limit, Predicate<T> filter) {
+        return collect(index.ids(key).tailSet(after, false).stream(), filter, max(limit));
+    }
+
+    // keyset page over the whole collection, in id order
+    protected final List<T> findAfter(String after, Limit limit, Predicate<T> filter) {
+        return collect(documents.tailMap(after, false).keySet().stream(), filter, max(limit));
+    }
+
+    protected final List<T> scan(Predicate<T> filter) {
+        return collect(documents.keySet().stream(), filter, Integer.MAX_VALUE);
+    }
+
+    protected final Stream<T> stream(Predicate<T> filter) {
+        return documents.values().stream().filter(filter).map(this::copy);
+    }
+
+    private List<T> collect(Stream<String> ids, Predicate<T> filter, int max) {
+        // the document is checked again because an index entry can briefly run ahead of it
+        return ids.map(documents::get)
+                .filter(document -> document != null && filter.test(document))
+                .limit(max)
+                .map(this::copy)
+                .toList();
+    }
+
+    protected static int max(Limit limit) {
+        return limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+    }
+
+    // ---- writes used by the subclasses
+
+    /**
+     * Atomically applies {@code change} to a copy of the stored document. The change returns the
+     * new document, or null to leave it alone; the result is a copy of the new document, or null
+     * if nothing was written. Must not add or change a unique key; use {@link #replace} for that.
+     */
+    protected final T modify(String id, UnaryOperator<T> change) {
+        synchronized (writeLock(id)) {
+            T current = documents.get(id);
+            if (current == null) {
+                return null;
+            }
+            T next = change.apply(copy(current));
+            if (next == null) {
+                return null;
+            }
+            reindex(id, current, next);
+            documents.put(id, next);
+            return copy(next);
+        }
+    }
+
+    /**
+     * Like {@link #modify}, but checks unique indexes first, so it may change any field.
+     */
+    protected final T replace(String id, UnaryOperator<T> change) {
+        if (hasUniqueIndexes) {
+            synchronized (this) {
+                return replaceChecked(id, change);
+            }
+        }
+        return replaceChecked(id, change);
+    }
+
+    private T replaceChecked(String id, UnaryOperator<T> change) {
+        synchronized (writeLock(id)) {
+            T current = documents.get(id);
+            if (current == null) {
+                return null;
+            }
+            T next = change.apply(copy(current));
+            if (next == null) {
+                return null;
+            }
+            checkUnique(id, next);
+            reindex(id, current, next);
+            documents.put(id, next);
+            return copy(next);
+        }
+    }
+
+    private void write(String id, T document, boolean mustBeNew) {
+        if (hasUniqueIndexes) {
+            synchronized (this) {
+                writeChecked(id, document, mustBeNew);
+            }
+        } else {
+            writeChecked(id, document, mustBeNew);
+        }
+    }
+
+    private void writeChecked(String id, T document, boolean mustBeNew) {
+        T stored = copy(document);
+        synchronized (writeLock(id)) {
+            T current = documents.get(id);
+            if (current != null && mustBeNew) {
+                throw new DuplicateKeyException("Duplicate _id " + id + " in " + type.getSimpleName());
+            }
+            checkUnique(id, stored);
+            reindex(id, current, stored);
+            documents.put(id, stored);
+        }
+    }
+
+    private void checkUnique(String id, T document) {
+        for (Index<T> index : indexes) {
+            if (index.conflicts(id, document)) {
+                throw new DuplicateKeyException("Duplicate key " + index.keyOf(document) + " in index "
+                        + index.getName() + " of " + type.getSimpleName());
+            }
+        }
+    }
+
+    private void reindex(String id, T previous, T next) {
+        for (Index<T> index : indexes) {
+            index.update(id, previous, next);
+        }
+    }
+
+    private void delete(String id) {
+        synchronized (writeLock(id)) {
+            T current = documents.remove(id);
+            if (current != null) {
+                reindex(id, current, null);
+            }
+        }
+    }
+
+    private Object writeLock(String id) {
+        return writeLocks[(id.hashCode() & Integer.MAX_VALUE) % WRITE_STRIPES];
+    }
+
+    /**
+     * Copy that shares no mutable state with {@code document}, so a caller changing a list such
+     * as bookedSeats on its copy never touches the stored document.
+     */
+    protected abstract T copy(T document);
+
+    protected static <E> List<E> copyOf(List<E> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private String assignId(T document) {
+        String id = getId.apply(document);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            setId(document, id);
+        }
+        return id;
+    }
+
+    // ---- CrudRepository
+
+    @Override
+    public <S extends T> S save(S entity) {
+        write(assignId(entity), entity, false);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        write(assignId(entity), entity, true);
+        return entity;
+    }
+
+    // like insertMany: stops at the first failure, earlier documents stay written
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        entities.forEach(entity -> inserted.add(insert(entity)));
+        return inserted;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        T document = documents.get(id);
+        return document == null ? Optional.empty() : Optional.of(copy(document));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return scan(document -> true);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delete(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        delete(getId.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        documents.clear();
+        indexes.forEach(Index::clear);
+    }
+
+    // ---- PagingAndSortingRepository
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return findAll().stream().sorted(comparator(sort)).toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            String property = "_id".equals(order.getProperty()) ? "id" : order.getProperty();
+            Comparator<T> byProperty = Comparator.comparing(
+                    document -> (Comparable) new BeanWrapperImpl(document).getPropertyValue(property),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    // ---- QueryByExampleExecutor
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw exampleNotSupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw exampleNotSupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw exampleNotSupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw exampleNotSupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw exampleNotSupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw exampleNotSupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw exampleNotSupported();
+    }
+
+    private UnsupportedOperationException exampleNotSupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the in-memory " + type.getSimpleName() + " repository");
+    }
+}
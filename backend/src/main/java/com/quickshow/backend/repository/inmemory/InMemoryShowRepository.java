@@ -0,0 +1,232 @@
+package com.quickshow.backend.repository.inmemory;
+
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.repository.ShowRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryShowRepository extends InMemoryRepository<Show> implements ShowRepository {
+
+    private final Index<Show> active = index(Index.hash("active_id", show -> show.isActive() ? Boolean.TRUE : null));
+    private final Index<Show> movieActive = index(Index.hash("movie_active_id",
+            show -> show.isActive() ? show.getMovieId() : null));
+    private final Index<Show> theaterActive = index(Index.hash("theater_active_id",
+            show -> show.isActive() ? show.getTheaterId() : null));
+    private final Index<Show> movieDateActive = index(Index.hash("movie_active_date",
+            show -> show.isActive() ? Index.key(show.getMovieId(), show.getShowDate()) : null));
+    private final Index<Show> theaterDateActive = index(Index.hash("theater_active_date",
+            show -> show.isActive() ? Index.key(show.getTheaterId(), show.getShowDate()) : null));
+    private final Index<Show> dateActive = index(Index.sorted("active_date",
+            show -> show.isActive() ? show.getShowDate() : null));
+    // same rule as the unique partial index on the Show document: one active show per screen and start time
+    private final Index<Show> screenSlot = index(Index.unique("screen_slot", show -> show.isActive()
+            ? Index.key(show.getTheaterId(), show.getScreenNumber(), show.getShowDate(), show.getShowTime()) : null));
+
+    public InMemoryShowRepository() {
+        super(Show.class, Show::getId);
+    }
+
+    @Override
+    protected void setId(Show show, String id) {
+        show.setId(id);
+    }
+
+    @Override
+    protected Show copy(Show show) {
+        Show copy = new Show();
+        copy.setId(show.getId());
+        copy.setMovieId(show.getMovieId());
+        copy.setTheaterId(show.getTheaterId());
+        copy.setScreenNumber(show.getScreenNumber());
+        copy.setShowDate(show.getShowDate());
+        copy.setShowTime(show.getShowTime());
+        copy.setTicketPrice(show.getTicketPrice());
+        copy.setTotalSeats(show.getTotalSeats());
+        copy.setAvailableSeats(show.getAvailableSeats());
+        copy.setSeatVersion(show.getSeatVersion());
+        copy.setShowType(show.getShowType());
+        copy.setCreatedAt(show.getCreatedAt());
+        copy.setUpdatedAt(show.getUpdatedAt());
+        copy.setBookedSeats(copyOf(show.getBookedSeats()));
+        copy.setActive(show.isActive());
+        return copy;
+    }
+
+    @Override
+    public List<Show> findByMovieIdAndShowDateAndIsActiveTrue(String movieId, LocalDate showDate, Limit limit) {
+        // "" sorts before every id, so this is the bucket from the start
+        return findAfter(movieDateActive, Index.key(movieId, showDate), "", limit,
+                show -> show.isActive() && movieId.equals(show.getMovieId()) && showDate.equals(show.getShowDate()));
+    }
+
+    @Override
+    public List<Show> findByTheaterIdAndShowDateAndIsActiveTrue(String theaterId, LocalDate showDate, Limit limit) {
+        return findAfter(theaterDateActive, Index.key(theaterId, showDate), "", limit,
+                show -> show.isActive() && theaterId.equals(show.getTheaterId()) && showDate.equals(show.getShowDate()));
+    }
+
+    @Override
+    public List<Show> findByMovieIdAndIsActiveTrue(String movieId) {
+        return find(movieActive, movieId, show -> show.isActive() && movieId.equals(show.getMovieId()));
+    }
+
+    @Override
+    public List<Show> findByTheaterIdAndIsActiveTrue(String theaterId) {
+        return find(theaterActive, theaterId, show -> show.isActive() && theaterId.equals(show.getTheaterId()));
+    }
+
+    @Override
+    public List<Show> findByIsActiveTrue() {
+        return find(active, Boolean.TRUE, Show::isActive);
+    }
+
+    @Override
+    public List<Show> findByShowDateGreaterThanEqualAndIsActiveTrue(LocalDate showDate) {
+        return findFrom(dateActive, showDate, show -> show.isActive() && show.getShowDate() != null && !show.getShowDate().isBefore(showDate));
+    }
+
+    @Override
+    public List<Show> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit) {
+        return findAfter(active, Boolean.TRUE, after, limit, Show::isActive);
+    }
+
+    @Override
+    public List<Show> findByMovieIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String movieId, String after, Limit limit) {
+        return findAfter(movieActive, movieId, after, limit, show -> show.isActive() && movieId.equals(show.getMovieId()));
+    }
+
+    @Override
+    public List<Show> findByTheaterIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String theaterId, String after, Limit limit) {
+        return findAfter(theaterActive, theaterId, after, limit, show -> show.isActive() && theaterId.equals(show.getTheaterId()));
+    }
+
+    @Override
+    public boolean claimSeats(String showId, List<String> seatNumbers) {
+        return modify(showId, show -> show.isActive() && show.getAvailableSeats() >= seatNumbers.size()
+                && noneBooked(show, seatNumbers) ? claim(show, seatNumbers) : null) != null;
+    }
+
+    @Override
+    public boolean claimSeats(String showId, List<String> seatNumbers, long expectedSeatVersion) {
+        return modify(showId, show -> show.getSeatVersion() == expectedSeatVersion ? claim(show, seatNumbers) : null) != null;
+    }
+
+    @Override
+    public boolean releaseSeats(String showId, List<String> seatNumbers) {
+        return modify(showId, show -> {
+            if (show.getBookedSeats() == null || !show.getBookedSeats().containsAll(seatNumbers)) {
+                return null;
+            }
+            show.getBookedSeats().removeAll(seatNumbers);
+            show.setAvailableSeats(show.getAvailableSeats() + seatNumbers.size());
+            show.setSeatVersion(show.getSeatVersion() + 1);
+            show.setUpdatedAt(LocalDateTime.now());
+            return show;
+        }) != null;
+    }
+
+    @Override
+    public boolean anySeatBooked(String showId, List<String> seatNumbers) {
+        return findById(showId).map(show -> !noneBooked(show, seatNumbers)).orElse(false);
+    }
+
+    @Override
+    public boolean backfillBookedSeats(String showId, List<String> bookedSeats) {
+        return modify(showId, show -> {
+            if (show.getBookedSeats() != null) {
+                return null;
+            }
+            show.setBookedSeats(new ArrayList<>(bookedSeats));
+            show.setAvailableSeats(show.getTotalSeats() - bookedSeats.size());
+            return show;
+        }) != null;
+    }
+
+    @Override
+    public boolean adjustAvailableSeats(String showId, int seatsBooked) {
+        return modify(showId, show -> {
+            if (seatsBooked > 0 && show.getAvailableSeats() < seatsBooked) {
+                return null;
+            }
+            show.setAvailableSeats(show.getAvailableSeats() - seatsBooked);
+            show.setUpdatedAt(LocalDateTime.now());
+            return show;
+        }) != null;
+    }
+
+    @Override
+    public Show updateDetails(String showId, Show showDetails) {
+        return replace(showId, show -> {
+            show.setMovieId(showDetails.getMovieId());
+            show.setTheaterId(showDetails.getTheaterId());
+            show.setScreenNumber(showDetails.getScreenNumber());
+            show.setShowDate(showDetails.getShowDate());
+            show.setShowTime(showDetails.getShowTime());
+            show.setTicketPrice(showDetails.getTicketPrice());
+            show.setAvailableSeats(show.getBookedSeats() != null
+                    ? showDetails.getTotalSeats() - show.getBookedSeats().size()
+                    : show.getAvailableSeats() + showDetails.getTotalSeats() - show.getTotalSeats());
+            show.setTotalSeats(showDetails.getTotalSeats());
+            show.setShowType(showDetails.getShowType());
+            show.setUpdatedAt(LocalDateTime.now());
+            return show;
+        });
+    }
+
+    @Override
+    public boolean deactivate(String showId) {
+        // dropping out of the active indexes never adds a unique key, so no lock is needed
+        return modify(showId, show -> {
+            show.setActive(false);
+            show.setUpdatedAt(LocalDateTime.now());
+            return show;
+        }) != null;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Show> shows) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < shows.size(); i++) {
+            try {
+                insert(shows.get(i));
+            } catch (DuplicateKeyException e) {
+                failures.put(i, "DUPLICATE");
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Stream<Show> streamForExport(LocalDate from, LocalDate to, String theaterId, int batchSize) {
+        return stream(show -> (theaterId == null || theaterId.equals(show.getTheaterId()))
+                && (from == null || (show.getShowDate() != null && !show.getShowDate().isBefore(from)))
+                && (to == null || (show.getShowDate() != null && !show.getShowDate().isAfter(to))))
+                .peek(show -> show.setBookedSeats(null));
+    }
+
+    private static boolean noneBooked(Show show, List<String> seatNumbers) {
+        return show.getBookedSeats() == null || seatNumbers.stream().noneMatch(show.getBookedSeats()::contains);
+    }
+
+    private static Show claim(Show show, List<String> seatNumbers) {
+        List<String> booked = show.getBookedSeats() == null ? new ArrayList<>() : show.getBookedSeats();
+        seatNumbers.stream().filter(seat -> !booked.contains(seat)).forEach(booked::add);
+        show.setBookedSeats(booked);
+        show.setAvailableSeats(show.getAvailableSeats() - seatNumbers.size());
+        show.setSeatVersion(show.getSeatVersion() + 1);
+        show.setUpdatedAt(LocalDateTime.now());
+        return show;
+    }
+}
@@ -0,0 +1,90 @@
+package com.quickshow.backend.repository.inmemory;
+
+import com.quickshow.backend.model.Screen;
+import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.repository.TheaterRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTheaterRepository extends InMemoryRepository<Theater> implements TheaterRepository {
+
+    private final Index<Theater> active = index(Index.hash("active", theater -> theater.isActive() ? Boolean.TRUE : null));
+    private final Index<Theater> city = index(Index.hash("city", Theater::getCity));
+
+    public InMemoryTheaterRepository() {
+        super(Theater.class, Theater::getId);
+    }
+
+    @Override
+    protected void setId(Theater theater, String id) {
+        theater.setId(id);
+    }
+
+    @Override
+    protected Theater copy(Theater theater) {
+        Theater copy = new Theater();
+        copy.setId(theater.getId());
+        copy.setName(theater.getName());
+        copy.setAddress(theater.getAddress());
+        copy.setCity(theater.getCity());
+        copy.setState(theater.getState());
+        copy.setZipCode(theater.getZipCode());
+        copy.setPhone(theater.getPhone());
+        copy.setEmail(theater.getEmail());
+        copy.setCreatedAt(theater.getCreatedAt());
+        copy.setUpdatedAt(theater.getUpdatedAt());
+        copy.setAmenities(copyOf(theater.getAmenities()));
+        if (theater.getScreens() != null) {
+            List<Screen> screens = new ArrayList<>();
+            for (Screen screen : theater.getScreens()) {
+                screens.add(new Screen(screen.getScreenNumber(), screen.getTotalSeats(), screen.getScreenType(), copyOf(screen.getFeatures())));
+            }
+            copy.setScreens(screens);
+        }
+        copy.setActive(theater.isActive());
+        return copy;
+    }
+
+    @Override
+    public List<Theater> findByIsActiveTrue() {
+        return find(active, Boolean.TRUE, Theater::isActive);
+    }
+
+    @Override
+    public List<Theater> findByCity(String city) {
+        return find(this.city, city, theater -> city.equals(theater.getCity()));
+    }
+
+    @Override
+    public List<Theater> findByCityAndIsActiveTrue(String city) {
+        return find(this.city, city, theater -> theater.isActive() && city.equals(theater.getCity()));
+    }
+
+    @Override
+    public List<Theater> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit) {
+        return findAfter(active, Boolean.TRUE, after, limit, Theater::isActive);
+    }
+
+    @Override
+    public List<Theater> findByCityAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String city, String after, Limit limit) {
+        return findAfter(this.city, city, after, limit, theater -> theater.isActive() && city.equals(theater.getCity()));
+    }
+
+    // copies are cheap here, so every field is returned; the response is trimmed to the selection
+    @Override
+    public List<Theater> findActiveWithFields(String after, Limit limit, Collection<String> fields) {
+        return findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(after, limit);
+    }
+
+    @Override
+    public List<Theater> findActiveByCityWithFields(String city, String after, Limit limit, Collection<String> fields) {
+        return findByCityAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(city, after, limit);
+    }
+}
@@ -0,0 +1,157 @@
+package com.quickshow.backend.repository.inmemory;
+
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.TicketRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryTicketRepository extends InMemoryRepository<Ticket> implements TicketRepository {
+
+    private final Index<Ticket> user = index(Index.hash("user_id", Ticket::getUserId));
+    private final Index<Ticket> show = index(Index.hash("show_id", Ticket::getShowId));
+    private final Index<Ticket> status = index(Index.hash("status_id", Ticket::getBookingStatus));
+    private final Index<Ticket> userStatus = index(Index.hash("user_status",
+            ticket -> Index.key(ticket.getUserId(), ticket.getBookingStatus())));
+
+    public InMemoryTicketRepository() {
+        super(Ticket.class, Ticket::getId);
+    }
+
+    @Override
+    protected void setId(Ticket ticket, String id) {
+        ticket.setId(id);
+    }
+
+    @Override
+    protected Ticket copy(Ticket ticket) {
+        Ticket copy = new Ticket();
+        copy.setId(ticket.getId());
+        copy.setUserId(ticket.getUserId());
+        copy.setShowId(ticket.getShowId());
+        copy.setMovieId(ticket.getMovieId());
+        copy.setTheaterId(ticket.getTheaterId());
+        copy.setTotalAmount(ticket.getTotalAmount());
+        copy.setBookingStatus(ticket.getBookingStatus());
+        copy.setPaymentStatus(ticket.getPaymentStatus());
+        copy.setPaymentMethod(ticket.getPaymentMethod());
+        copy.setBookingDate(ticket.getBookingDate());
+        copy.setShowDateTime(ticket.getShowDateTime());
+        copy.setHoldExpiresAt(ticket.getHoldExpiresAt());
+        copy.setCreatedAt(ticket.getCreatedAt());
+        copy.setUpdatedAt(ticket.getUpdatedAt());
+        copy.setSeatNumbers(copyOf(ticket.getSeatNumbers()));
+        return copy;
+    }
+
+    @Override
+    public List<Ticket> findByUserId(String userId) {
+        return find(user, userId, ticket -> userId.equals(ticket.getUserId()));
+    }
+
+    @Override
+    public List<Ticket> findByShowId(String showId) {
+        return find(show, showId, ticket -> showId.equals(ticket.getShowId()));
+    }
+
+    @Override
+    public List<Ticket> findByShowIdAndBookingStatusIn(String showId, Collection<String> bookingStatuses) {
+        return find(show, showId, ticket -> showId.equals(ticket.getShowId()) && bookingStatuses.contains(ticket.getBookingStatus()));
+    }
+
+    @Override
+    public List<Ticket> findByBookingStatus(String bookingStatus) {
+        return find(status, bookingStatus, ticket -> bookingStatus.equals(ticket.getBookingStatus()));
+    }
+
+    @Override
+    public List<Ticket> findByUserIdAndBookingStatus(String userId, String bookingStatus) {
+        return find(userStatus, Index.key(userId, bookingStatus),
+                ticket -> userId.equals(ticket.getUserId()) && bookingStatus.equals(ticket.getBookingStatus()));
+    }
+
+    @Override
+    public List<Ticket> findByIdGreaterThanOrderByIdAsc(String after, Limit limit) {
+        return findAfter(after, limit, ticket -> true);
+    }
+
+    @Override
+    public List<Ticket> findByUserIdAndIdGreaterThanOrderByIdAsc(String userId, String after, Limit limit) {
+        return findAfter(user, userId, after, limit, ticket -> userId.equals(ticket.getUserId()));
+    }
+
+    @Override
+    public List<Ticket> findByShowIdAndIdGreaterThanOrderByIdAsc(String showId, String after, Limit limit) {
+        return findAfter(show, showId, after, limit, ticket -> showId.equals(ticket.getShowId()));
+    }
+
+    @Override
+    public List<Ticket> findByBookingStatusAndIdGreaterThanOrderByIdAsc(String bookingStatus, String after, Limit limit) {
+        return findAfter(status, bookingStatus, after, limit, ticket -> bookingStatus.equals(ticket.getBookingStatus()));
+    }
+
+    @Override
+    public List<Ticket> findByBookingStatusAndHoldExpiresAtLessThanOrderByHoldExpiresAtAsc(String bookingStatus, LocalDateTime before, Limit limit) {
+        return find(status, bookingStatus, ticket -> bookingStatus.equals(ticket.getBookingStatus())
+                && ticket.getHoldExpiresAt() != null && ticket.getHoldExpiresAt().isBefore(before)).stream()
+                .sorted(Comparator.comparing(Ticket::getHoldExpiresAt))
+                .limit(max(limit))
+                .toList();
+    }
+
+    @Override
+    public boolean transitionBookingStatus(String ticketId, Collection<String> fromStatuses, String toStatus) {
+        return modify(ticketId, ticket -> {
+            if (!fromStatuses.contains(ticket.getBookingStatus())) {
+                return null;
+            }
+            ticket.setBookingStatus(toStatus);
+            ticket.setUpdatedAt(LocalDateTime.now());
+            return ticket;
+        }) != null;
+    }
+
+    @Override
+    public Ticket updatePaymentDetails(String ticketId, BigDecimal totalAmount, String paymentStatus, String paymentMethod) {
+        return modify(ticketId, ticket -> {
+            ticket.setTotalAmount(totalAmount);
+            ticket.setPaymentStatus(paymentStatus);
+            ticket.setPaymentMethod(paymentMethod);
+            ticket.setUpdatedAt(LocalDateTime.now());
+            return ticket;
+        });
+    }
+
+    @Override
+    public Ticket confirmHold(String ticketId, String showId, String paymentMethod, LocalDateTime now) {
+        return modify(ticketId, ticket -> {
+            if (!showId.equals(ticket.getShowId()) || !"PENDING".equals(ticket.getBookingStatus())
+                    || ticket.getHoldExpiresAt() == null || !ticket.getHoldExpiresAt().isAfter(now)) {
+                return null;
+            }
+            ticket.setBookingStatus("CONFIRMED");
+            ticket.setPaymentStatus("PAID");
+            ticket.setPaymentMethod(paymentMethod);
+            ticket.setBookingDate(now);
+            ticket.setUpdatedAt(now);
+            ticket.setHoldExpiresAt(null);
+            return ticket;
+        });
+    }
+
+    @Override
+    public Stream<Ticket> streamForExport(LocalDateTime from, LocalDateTime to, String theaterId, int batchSize) {
+        return stream(ticket -> (theaterId == null || theaterId.equals(ticket.getTheaterId()))
+                && (from == null || (ticket.getBookingDate() != null && !ticket.getBookingDate().isBefore(from)))
+                && (to == null || (ticket.getBookingDate() != null && ticket.getBookingDate().isBefore(to))));
+    }
+}
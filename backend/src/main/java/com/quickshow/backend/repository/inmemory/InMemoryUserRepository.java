@@ -0,0 +1,75 @@
+package com.quickshow.backend.repository.inmemory;
+
+import com.quickshow.backend.model.User;
+import com.quickshow.backend.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryUserRepository extends InMemoryRepository<User> implements UserRepository {
+
+    private final Index<User> username = index(Index.hash("username", User::getUsername));
+    private final Index<User> email = index(Index.hash("email", User::getEmail));
+    private final Index<User> active = index(Index.hash("active", user -> user.isActive() ? Boolean.TRUE : null));
+
+    public InMemoryUserRepository() {
+        super(User.class, User::getId);
+    }
+
+    @Override
+    protected void setId(User user, String id) {
+        user.setId(id);
+    }
+
+    @Override
+    protected User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setPhone(user.getPhone());
+        copy.setRole(user.getRole());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        copy.setActive(user.isActive());
+        return copy;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return findOne(this.email, email, user -> email.equals(user.getEmail()));
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return findOne(this.username, username, user -> username.equals(user.getUsername()));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return !this.email.ids(email).isEmpty();
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return !this.username.ids(username).isEmpty();
+    }
+
+    @Override
+    public List<User> findByIsActiveTrue() {
+        return find(active, Boolean.TRUE, User::isActive);
+    }
+
+    @Override
+    public List<User> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(String after, Limit limit) {
+        return findAfter(active, Boolean.TRUE, after, limit, User::isActive);
+    }
+}
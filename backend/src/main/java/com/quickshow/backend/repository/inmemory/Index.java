@@ -0,0 +1,112 @@
+package com.quickshow.backend.repository.inmemory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Secondary index from a key to the ids of the documents that have it, each bucket kept in id
+ * order so keyset pages are a {@code tailSet}. A key function that returns null leaves the
+ * document out, which is how partial indexes ({@code isActive: true} only) are expressed.
+ * Hash buckets are created and dropped inside {@code compute}, so concurrent writers never lose an
+ * id to a bucket that was just removed. Skip-list compute is not atomic and may re-run, so sorted
+ * indexes only ever add buckets and leave empty ones in place; their keys are dates, so few pile up.
+ */
+final class Index<T> {
+
+    private final String name;
+    private final Function<T, ?> key;
+    private final boolean unique;
+    private final ConcurrentMap<Object, ConcurrentSkipListSet<String>> entries;
+
+    private Index(String name, Function<T, ?> key, boolean unique, ConcurrentMap<Object, ConcurrentSkipListSet<String>> entries) {
+        this.name = name;
+        this.key = key;
+        this.unique = unique;
+        this.entries = entries;
+    }
+
+    static <T> Index<T> hash(String name, Function<T, ?> key) {
+        return new Index<>(name, key, false, new ConcurrentHashMap<>());
+    }
+
+    static <T> Index<T> unique(String name, Function<T, ?> key) {
+        return new Index<>(name, key, true, new ConcurrentHashMap<>());
+    }
+
+    // keys must be Comparable; supports idsFrom
+    static <T> Index<T> sorted(String name, Function<T, ? extends Comparable<?>> key) {
+        return new Index<>(name, key, false, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Composite key; unlike List.of it allows null parts.
+     */
+    static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    String getName() { return name; }
+    boolean isUnique() { return unique; }
+
+    Object keyOf(T document) {
+        return document == null ? null : key.apply(document);
+    }
+
+    NavigableSet<String> ids(Object value) {
+        NavigableSet<String> ids = entries.get(value);
+        return ids == null ? Collections.emptyNavigableSet() : ids;
+    }
+
+    Stream<String> idsFrom(Object from) {
+        return ((ConcurrentNavigableMap<Object, ConcurrentSkipListSet<String>>) entries).tailMap(from, true)
+                .values().stream().flatMap(NavigableSet::stream);
+    }
+
+    boolean conflicts(String id, T document) {
+        Object value = keyOf(document);
+        return unique && value != null && ids(value).stream().anyMatch(other -> !other.equals(id));
+    }
+
+    void update(String id, T previous, T next) {
+        Object before = keyOf(previous);
+        Object after = keyOf(next);
+        if (before != null && before.equals(after)) {
+            return;
+        }
+        if (entries instanceof ConcurrentSkipListMap) {
+            if (before != null) {
+                ids(before).remove(id);
+            }
+            if (after != null) {
+                entries.computeIfAbsent(after, value -> new ConcurrentSkipListSet<>()).add(id);
+            }
+            return;
+        }
+        if (before != null) {
+            entries.computeIfPresent(before, (value, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (after != null) {
+            entries.compute(after, (value, ids) -> {
+                ConcurrentSkipListSet<String> bucket = ids == null ? new ConcurrentSkipListSet<>() : ids;
+                bucket.add(id);
+                return bucket;
+            });
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+}
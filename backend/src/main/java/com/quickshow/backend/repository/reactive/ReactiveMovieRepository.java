@@ -0,0 +1,11 @@
+package com.quickshow.backend.repository.reactive;
+
+import com.quickshow.backend.model.Movie;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveMovieRepository extends ReactiveMongoRepository<Movie, String> {
+    Flux<Movie> findByIsActiveTrue();
+}
@@ -0,0 +1,13 @@
+package com.quickshow.backend.repository.reactive;
+
+import com.quickshow.backend.model.Show;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReactiveShowRepository extends ReactiveMongoRepository<Show, String> {
+    Flux<Show> findByMovieIdAndShowDateAndIsActiveTrueOrderByShowTimeAscIdAsc(String movieId, LocalDate showDate);
+}
@@ -0,0 +1,12 @@
+package com.quickshow.backend.repository.reactive;
+
+import com.quickshow.backend.model.Theater;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveTheaterRepository extends ReactiveMongoRepository<Theater, String> {
+    Flux<Theater> findByIsActiveTrue();
+    Flux<Theater> findByCityAndIsActiveTrue(String city);
+}
@@ -0,0 +1,73 @@
+package com.quickshow.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counters for the booking pipeline, created once so the hot path only bumps an adder.
+ * Exported as {@code quickshow_booking_*} on {@code /actuator/prometheus}.
+ */
+@Service
+public class BookingMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter ticketsBooked;
+    private Counter seatConflicts;
+    private Counter oversellsDetected;
+    private Counter cancellations;
+    private Counter seatReleaseFailures;
+    private Counter seatCountFailures;
+
+    @PostConstruct
+    void createMeters() {
+        ticketsBooked = Counter.builder("quickshow.booking.tickets")
+                .description("Tickets booked directly, in batches or by confirming a hold")
+                .register(meterRegistry);
+        seatConflicts = Counter.builder("quickshow.booking.seat.conflicts")
+                .description("Claims refused because a seat was already taken in this node's seat map")
+                .register(meterRegistry);
+        oversellsDetected = Counter.builder("quickshow.booking.oversells.detected")
+                .description("Claims this node's seat map allowed but Mongo refused, i.e. a stale map that would have oversold")
+                .register(meterRegistry);
+        cancellations = Counter.builder("quickshow.booking.cancellations")
+                .description("Live tickets cancelled")
+                .register(meterRegistry);
+        seatReleaseFailures = Counter.builder("quickshow.booking.seat.updates.failed")
+                .description("Seat count updates Mongo did not apply")
+                .tag("operation", "release")
+                .register(meterRegistry);
+        seatCountFailures = Counter.builder("quickshow.booking.seat.updates.failed")
+                .description("Seat count updates Mongo did not apply")
+                .tag("operation", "adjust")
+                .register(meterRegistry);
+    }
+
+    public void ticketsBooked(int count) {
+        ticketsBooked.increment(count);
+    }
+
+    public void seatConflict() {
+        seatConflicts.increment();
+    }
+
+    public void oversellDetected() {
+        oversellsDetected.increment();
+    }
+
+    public void cancellation() {
+        cancellations.increment();
+    }
+
+    public void seatReleaseFailed() {
+        seatReleaseFailures.increment();
+    }
+
+    public void seatCountUpdateFailed() {
+        seatCountFailures.increment();
+    }
+}
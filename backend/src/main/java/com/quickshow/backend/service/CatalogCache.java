@@ -0,0 +1,68 @@
+package com.quickshow.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the read-through caches in front of the catalog (movies, theaters). Each cache is
+ * size-bounded with Caffeine's W-TinyLFU eviction and a write TTL; the owning service invalidates
+ * exact keys on every write, and the TTL bounds staleness for writes made on other replicas.
+ */
+@Service
+public class CatalogCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quickshow.cache.catalog.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${quickshow.cache.catalog.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, ReadThroughCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public <K, V> ReadThroughCache<K, V> create(String name) {
+        AsyncCache<K, V> caffeine = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        // cache_gets{result=hit|miss}, evictions and size, tagged cache=<name>
+        CaffeineCacheMetrics.monitor(meterRegistry, caffeine, name);
+        ReadThroughCache<K, V> cache = new ReadThroughCache<>(caffeine);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    public Map<String, ReadThroughCache<?, ?>> getCaches() {
+        return caches;
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> {
+            CacheStats cacheStats = cache.stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", cache.estimatedSize());
+            entry.put("hits", cacheStats.hitCount());
+            entry.put("misses", cacheStats.missCount());
+            entry.put("hitRatio", cacheStats.hitRate());
+            entry.put("evictions", cacheStats.evictionCount());
+            entry.put("averageLoadMillis", cacheStats.averageLoadPenalty() / 1_000_000.0);
+            stats.put(name, entry);
+        });
+        return stats;
+    }
+}
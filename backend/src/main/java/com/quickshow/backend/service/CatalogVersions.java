@@ -0,0 +1,117 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Validators for conditional GETs on catalog reads. An entity's version is what every write
+ * already bumps: {@code updatedAt}, plus {@code seatVersion} and {@code availableSeats} for shows,
+ * which seat claims change without touching {@code updatedAt}. A list's version sums the id and
+ * version of each item, so adding, changing or dropping one changes the ETag, but the order Mongo
+ * happened to return them in does not.
+ *
+ * <p>Versions come from the documents themselves rather than from a counter kept by this node, so
+ * every replica computes the same ETag for the same data, and a change made through another
+ * replica shows up as soon as this node's cache or showtime index picks it up. Computing one reads
+ * a few fields per item; nothing is serialized and Mongo is only read if the cache misses.
+ */
+public final class CatalogVersions {
+
+    private CatalogVersions() {
+    }
+
+    public static String movie(Movie movie) {
+        return etag("m", movie.getId(), timestamp(movie.getUpdatedAt()));
+    }
+
+    public static String movies(Collection<Movie> movies) {
+        return etag("ml", movies, Movie::getId, movie -> timestamp(movie.getUpdatedAt()));
+    }
+
+    public static String theater(Theater theater) {
+        return etag("t", theater.getId(), timestamp(theater.getUpdatedAt()));
+    }
+
+    public static String theaters(Collection<Theater> theaters) {
+        return etag("tl", theaters, Theater::getId, theater -> timestamp(theater.getUpdatedAt()));
+    }
+
+    public static String show(Show show) {
+        return etag("s", show.getId(), showVersion(show));
+    }
+
+    public static String shows(Collection<Show> shows) {
+        return etag("sl", shows, Show::getId, CatalogVersions::showVersion);
+    }
+
+    /**
+     * Gives a {@code ?fields=} response its own ETag, since it is a different representation of
+     * the same data.
+     */
+    public static String withFields(String etag, FieldSelection.Fields<?> fields) {
+        if (fields == null) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + '-' + Long.toHexString(mix(fields.key().hashCode(), 0)) + '"';
+    }
+
+    /**
+     * Ties a keyset page's ETag to its next cursor too: dropping the row after a full page
+     * turns it into the last page without changing any of its items.
+     */
+    public static String withNextCursor(String etag, String nextCursor) {
+        if (nextCursor == null) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + '-' + Long.toHexString(mix(hashOf(nextCursor), 1)) + '"';
+    }
+
+    /**
+     * Last-Modified, in epoch millis, for an entity whose every change sets {@code updatedAt};
+     * -1 (no header) for documents written without it. updatedAt is stored in server local time.
+     */
+    public static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long showVersion(Show show) {
+        return mix(mix(timestamp(show.getUpdatedAt()), show.getSeatVersion()), show.getAvailableSeats());
+    }
+
+    private static <T> String etag(String kind, Collection<T> items, Function<T, String> idOf, ToLongFunction<T> versionOf) {
+        long sum = 0;
+        for (T item : items) {
+            sum += mix(hashOf(idOf.apply(item)), versionOf.applyAsLong(item));
+        }
+        return '"' + kind + '-' + Long.toHexString(mix(items.size(), sum)) + '"';
+    }
+
+    private static String etag(String kind, String id, long version) {
+        return '"' + kind + '-' + Long.toHexString(mix(hashOf(id), version)) + '"';
+    }
+
+    // millis, as Mongo stores it, so a freshly saved document and its reloaded copy agree
+    private static long timestamp(LocalDateTime time) {
+        return time == null ? 0 : time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    private static long hashOf(String id) {
+        return id == null ? 0 : id.hashCode();
+    }
+
+    // 64-bit mixing step built on the SplitMix64 finalizer
+    private static long mix(long hash, long value) {
+        long z = hash * 0x9E3779B97F4A7C15L + value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
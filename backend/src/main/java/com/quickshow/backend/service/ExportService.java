@@ -0,0 +1,178 @@
+package com.quickshow.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.ShowRepository;
+import com.quickshow.backend.repository.TicketRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams tickets and shows as NDJSON or CSV straight from a Mongo cursor. Rows are written as
+ * they arrive and flushed in small groups, so the first bytes go out right away and the heap only
+ * ever holds one cursor batch. A slow client blocks the response write, which stops the cursor
+ * from fetching more: that is the backpressure. Exports run on their own small pool and read
+ * from secondaries when there are any, so they stay out of the way of bookings.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> TICKET_COLUMNS = List.of("id", "userId", "showId", "movieId", "theaterId",
+            "seatNumbers", "totalAmount", "bookingStatus", "paymentStatus", "paymentMethod", "bookingDate",
+            "showDateTime", "createdAt", "updatedAt");
+    private static final List<String> SHOW_COLUMNS = List.of("id", "movieId", "theaterId", "screenNumber", "showDate",
+            "showTime", "ticketPrice", "totalSeats", "availableSeats", "showType", "isActive");
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${quickshow.export.batch-size:500}")
+    private int batchSize;
+
+    @Value("${quickshow.export.flush-rows:100}")
+    private int flushRows;
+
+    @Value("${quickshow.export.max-concurrent:2}")
+    private int maxConcurrentExports;
+
+    private Semaphore exportPermits;
+
+    @PostConstruct
+    void createPermits() {
+        exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    /**
+     * Null if {@code quickshow.export.max-concurrent} exports are already running.
+     */
+    public StreamingResponseBody exportTickets(LocalDate from, LocalDate to, String theaterId, boolean csv) {
+        return stream(() -> ticketRepository.streamForExport(from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(), theaterId, batchSize),
+                csv ? TICKET_COLUMNS : null, ExportService::ticketRow);
+    }
+
+    public StreamingResponseBody exportShows(LocalDate from, LocalDate to, String theaterId, boolean csv) {
+        return stream(() -> showRepository.streamForExport(from, to, theaterId, batchSize),
+                csv ? SHOW_COLUMNS : null, ExportService::showRow);
+    }
+
+    private <T> StreamingResponseBody stream(Supplier<Stream<T>> rows, List<String> csvColumns,
+                                             Function<T, List<Object>> csvRow) {
+        if (!exportPermits.tryAcquire()) {
+            return null;
+        }
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable release = () -> {
+            if (held.compareAndSet(true, false)) {
+                exportPermits.release();
+            }
+        };
+        releaseWhenRequestCompletes(release);
+        return outputStream -> {
+            try (Stream<T> cursor = rows.get()) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+                if (csvColumns != null) {
+                    writeCsvLine(writer, csvColumns);
+                }
+                int sinceFlush = 0;
+                boolean first = true;
+                for (Iterator<T> it = cursor.iterator(); it.hasNext(); ) {
+                    T row = it.next();
+                    if (csvColumns != null) {
+                        writeCsvLine(writer, csvRow.apply(row));
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (first || ++sinceFlush >= flushRows) {
+                        writer.flush();
+                        sinceFlush = 0;
+                        first = false;
+                    }
+                }
+                writer.flush();
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    // The body may never run: the stream pool rejects it, the request times out before it starts,
+    // or the client is gone by then. The async request still completes, so the permit goes back there.
+    private static void releaseWhenRequestCompletes(Runnable release) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(release,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                            release.run();
+                        }
+                    });
+        }
+    }
+
+    private static List<Object> ticketRow(Ticket ticket) {
+        return Arrays.asList(ticket.getId(), ticket.getUserId(), ticket.getShowId(), ticket.getMovieId(),
+                ticket.getTheaterId(), ticket.getSeatNumbers() == null ? null : String.join(" ", ticket.getSeatNumbers()),
+                ticket.getTotalAmount(), ticket.getBookingStatus(), ticket.getPaymentStatus(), ticket.getPaymentMethod(),
+                ticket.getBookingDate(), ticket.getShowDateTime(), ticket.getCreatedAt(), ticket.getUpdatedAt());
+    }
+
+    private static List<Object> showRow(Show show) {
+        return Arrays.asList(show.getId(), show.getMovieId(), show.getTheaterId(), show.getScreenNumber(),
+                show.getShowDate(), show.getShowTime(), show.getTicketPrice(), show.getTotalSeats(),
+                show.getAvailableSeats(), show.getShowType(), show.isActive());
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,155 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The properties a list endpoint may return for {@code ?fields=}: a comma-separated list of JSON
+ * property names, the {@code summary} preset, or both ({@code summary,description}). {@code id}
+ * is always returned. Each name maps to the Mongo field to project, so a selection is read from
+ * Mongo with only those fields instead of being loaded whole and trimmed here.
+ */
+public final class FieldSelection<T> {
+
+    public static final FieldSelection<Movie> MOVIES = new FieldSelection<Movie>()
+            .field("id", "id", Movie::getId)
+            .field("title", "title", Movie::getTitle)
+            .field("description", "description", Movie::getDescription)
+            .field("genre", "genre", Movie::getGenre)
+            .field("director", "director", Movie::getDirector)
+            .field("cast", "cast", Movie::getCast)
+            .field("posterUrl", "posterUrl", Movie::getPosterUrl)
+            .field("trailerUrl", "trailerUrl", Movie::getTrailerUrl)
+            .field("duration", "duration", Movie::getDuration)
+            .field("rating", "rating", Movie::getRating)
+            .field("ratingScore", "ratingScore", Movie::getRatingScore)
+            .field("language", "language", Movie::getLanguage)
+            .field("active", "isActive", Movie::isActive)
+            .field("releaseDate", "releaseDate", Movie::getReleaseDate)
+            .field("createdAt", "createdAt", Movie::getCreatedAt)
+            .field("updatedAt", "updatedAt", Movie::getUpdatedAt)
+            .preset("summary", "title", "posterUrl", "genre", "rating", "ratingScore", "duration", "language", "releaseDate");
+
+    public static final FieldSelection<Theater> THEATERS = new FieldSelection<Theater>()
+            .field("id", "id", Theater::getId)
+            .field("name", "name", Theater::getName)
+            .field("address", "address", Theater::getAddress)
+            .field("city", "city", Theater::getCity)
+            .field("state", "state", Theater::getState)
+            .field("zipCode", "zipCode", Theater::getZipCode)
+            .field("phone", "phone", Theater::getPhone)
+            .field("email", "email", Theater::getEmail)
+            .field("screens", "screens", Theater::getScreens)
+            .field("amenities", "amenities", Theater::getAmenities)
+            .field("active", "isActive", Theater::isActive)
+            .field("createdAt", "createdAt", Theater::getCreatedAt)
+            .field("updatedAt", "updatedAt", Theater::getUpdatedAt)
+            .preset("summary", "name", "address", "city", "state");
+
+    public static final FieldSelection<Show> SHOWS = new FieldSelection<Show>()
+            .field("id", "id", Show::getId)
+            .field("movieId", "movieId", Show::getMovieId)
+            .field("theaterId", "theaterId", Show::getTheaterId)
+            .field("screenNumber", "screenNumber", Show::getScreenNumber)
+            .field("showDate", "showDate", Show::getShowDate)
+            .field("showTime", "showTime", Show::getShowTime)
+            .field("ticketPrice", "ticketPrice", Show::getTicketPrice)
+            .field("totalSeats", "totalSeats", Show::getTotalSeats)
+            .field("availableSeats", "availableSeats", Show::getAvailableSeats)
+            .field("seatVersion", "seatVersion", Show::getSeatVersion)
+            .field("showType", "showType", Show::getShowType)
+            .field("active", "isActive", Show::isActive)
+            .field("createdAt", "createdAt", Show::getCreatedAt)
+            .field("updatedAt", "updatedAt", Show::getUpdatedAt)
+            .preset("summary", "movieId", "theaterId", "screenNumber", "showDate", "showTime", "ticketPrice",
+                    "availableSeats", "showType");
+
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+    private final Map<String, List<String>> presets = new LinkedHashMap<>();
+
+    private FieldSelection() {
+    }
+
+    private FieldSelection<T> field(String name, String mongoField, Function<T, Object> getter) {
+        fields.put(name, new Field<>(mongoField, getter));
+        return this;
+    }
+
+    private FieldSelection<T> preset(String name, String... fieldNames) {
+        presets.put(name, List.of(fieldNames));
+        return this;
+    }
+
+    /**
+     * Parses a {@code ?fields=} value. Returns null for an unknown or empty name.
+     */
+    public Fields<T> parse(String param) {
+        if (param == null) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String name : param.split(",")) {
+            String trimmed = name.trim();
+            if (presets.containsKey(trimmed)) {
+                selected.addAll(presets.get(trimmed));
+            } else if (fields.containsKey(trimmed)) {
+                selected.add(trimmed);
+            } else {
+                return null;
+            }
+        }
+        // declaration order, so the same selection always makes the same cache key and JSON
+        return new Fields<>(this, fields.keySet().stream().filter(selected::contains).toList());
+    }
+
+    /**
+     * A parsed selection, in declaration order.
+     */
+    public static final class Fields<T> {
+
+        private final FieldSelection<T> selection;
+        private final List<String> names;
+
+        private Fields(FieldSelection<T> selection, List<String> names) {
+            this.selection = selection;
+            this.names = names;
+        }
+
+        // the same for every spelling of the same selection
+        public String key() {
+            return "fields:" + String.join(",", names);
+        }
+
+        /**
+         * The Mongo fields to load. updatedAt always comes along, because the response's ETag is
+         * built from it.
+         */
+        public List<String> mongoFields() {
+            List<String> mongoFields = new ArrayList<>(names.size() + 1);
+            names.forEach(name -> mongoFields.add(selection.fields.get(name).mongoField()));
+            if (!names.contains("updatedAt")) {
+                mongoFields.add("updatedAt");
+            }
+            return mongoFields;
+        }
+
+        public Map<String, Object> apply(T item) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            names.forEach(name -> values.put(name, selection.fields.get(name).getter().apply(item)));
+            return values;
+        }
+    }
+
+    private record Field<T>(String mongoField, Function<T, Object> getter) {
+    }
+}
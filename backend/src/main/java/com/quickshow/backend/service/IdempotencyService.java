@@ -0,0 +1,320 @@
+package com.quickshow.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quickshow.backend.model.IdempotencyRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Idempotency-Key support for the booking endpoints. The first request with a key runs and its
+ * response is kept; a retry with the same key and the same request gets that response back
+ * (with {@code Idempotent-Replayed: true}) without running again, so it can never claim seats a
+ * second time. A retry that arrives while the first request is still running waits for it. Reusing
+ * a key for a different request is answered 422.
+ *
+ * <p>Responses are kept in a size-bounded Caffeine cache with a write TTL, so a replay is a map
+ * lookup. With {@code quickshow.idempotency.store=mongo} keys are also claimed in the
+ * idempotency_keys collection, so a retry that lands on another replica is caught as well; the
+ * local cache still answers repeats seen by this node without a round trip.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long SHARED_POLL_MILLIS = 50;
+
+    // returned by claimShared when the key is held elsewhere past the wait, or held for another request
+    private static final Outcome IN_PROGRESS = new Outcome(null, 0, null);
+    private static final Outcome MISMATCH = new Outcome(null, 0, null);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quickshow.idempotency.store:memory}")
+    private String store;
+
+    @Value("${quickshow.idempotency.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${quickshow.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${quickshow.idempotency.wait-millis:10000}")
+    private long waitMillis;
+
+    @Value("${quickshow.idempotency.lock-seconds:60}")
+    private long lockSeconds;
+
+    // keys whose first request is running on this node; never evicted while it runs
+    private final ConcurrentHashMap<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+    private Cache<String, Outcome> outcomes;
+    private MongoTemplate shared;
+
+    private Counter executed;
+    private Counter replayed;
+    private Counter mismatched;
+    private Counter inProgress;
+
+    @PostConstruct
+    void createStore() {
+        outcomes = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, outcomes, "idempotency");
+        if ("mongo".equalsIgnoreCase(store)) {
+            shared = mongoTemplate.getIfAvailable();
+            if (shared == null) {
+                log.warn("quickshow.idempotency.store=mongo but MongoDB is not configured; keeping idempotency keys in memory");
+            }
+        }
+        executed = counter("executed");
+        replayed = counter("replayed");
+        mismatched = counter("mismatch");
+        inProgress = counter("in_progress");
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("quickshow.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by what was done with them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} once per key. {@code operation} and {@code request} identify what the key
+     * was used for; {@code bodyType} is the response body type, needed to read a response stored
+     * in Mongo. Without a key the action simply runs. An action that throws leaves no response
+     * behind, so the request can be retried with the same key.
+     */
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        String fingerprint = fingerprint(operation, request);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        while (true) {
+            Outcome done = outcomes.getIfPresent(key);
+            if (done != null) {
+                return replay(done, fingerprint, bodyType);
+            }
+            CompletableFuture<Outcome> mine = new CompletableFuture<>();
+            CompletableFuture<Outcome> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                try {
+                    return run(key, fingerprint, bodyType, action, mine, deadline);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            }
+            try {
+                return replay(running.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS), fingerprint, bodyType);
+            } catch (ExecutionException e) {
+                // the request we waited for failed without a response; try again ourselves
+            } catch (TimeoutException e) {
+                return inProgress();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return inProgress();
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> run(String key, String fingerprint, Class<T> bodyType,
+                                      Supplier<ResponseEntity<T>> action, CompletableFuture<Outcome> mine, long deadline) {
+        // finished between the cache lookup and taking the key
+        Outcome done = outcomes.getIfPresent(key);
+        if (done == null && shared != null) {
+            done = claimShared(key, fingerprint, bodyType, deadline);
+            if (done == IN_PROGRESS || done == MISMATCH) {
+                mine.completeExceptionally(new IllegalStateException("Idempotency key " + key + " is held by another request"));
+                return done == MISMATCH ? mismatch() : inProgress();
+            }
+        }
+        if (done != null) {
+            mine.complete(done);
+            return replay(done, fingerprint, bodyType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            releaseShared(key);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        Outcome outcome = new Outcome(fingerprint, response.getStatusCode().value(), response.getBody());
+        outcomes.put(key, outcome);
+        if (shared != null) {
+            saveShared(key, outcome);
+        }
+        mine.complete(outcome);
+        executed.increment();
+        return response;
+    }
+
+    private <T> ResponseEntity<T> replay(Outcome outcome, String fingerprint, Class<T> bodyType) {
+        if (!outcome.fingerprint().equals(fingerprint)) {
+            return mismatch();
+        }
+        replayed.increment();
+        return ResponseEntity.status(outcome.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(bodyType.cast(outcome.body()));
+    }
+
+    private <T> ResponseEntity<T> mismatch() {
+        mismatched.increment();
+        return ResponseEntity.unprocessableEntity().build();
+    }
+
+    private <T> ResponseEntity<T> inProgress() {
+        inProgress.increment();
+        return ResponseEntity.status(HttpStatus.CONFLICT).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+
+    /**
+     * Takes the key in Mongo. Returns null once this request holds it, the stored response if
+     * another replica already answered it, or IN_PROGRESS / MISMATCH.
+     */
+    private Outcome claimShared(String key, String fingerprint, Class<?> bodyType, long deadline) {
+        while (true) {
+            long now = System.currentTimeMillis();
+            Date lockExpiry = new Date(now + TimeUnit.SECONDS.toMillis(lockSeconds));
+            try {
+                shared.insert(new IdempotencyRecord(key, fingerprint, "PENDING", 0, null, lockExpiry));
+                return null;
+            } catch (DuplicateKeyException e) {
+                // someone has it; see below
+            }
+            IdempotencyRecord existing = shared.findById(key, IdempotencyRecord.class);
+            if (existing == null) {
+                continue; // expired in between
+            }
+            if ("DONE".equals(existing.getState())) {
+                Outcome outcome = new Outcome(existing.getFingerprint(), existing.getStatus(),
+                        readBody(existing.getBody(), bodyType));
+                outcomes.put(key, outcome);
+                return outcome;
+            }
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                return MISMATCH;
+            }
+            if (existing.getExpiresAt().getTime() < now) {
+                // the replica that took the key stopped before answering; take it over
+                if (shared.updateFirst(query(where("_id").is(key).and("state").is("PENDING")
+                                .and("expiresAt").is(existing.getExpiresAt())),
+                        new Update().set("expiresAt", lockExpiry), IdempotencyRecord.class).getModifiedCount() == 1) {
+                    return null;
+                }
+                continue;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return IN_PROGRESS;
+            }
+            try {
+                Thread.sleep(SHARED_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return IN_PROGRESS;
+            }
+        }
+    }
+
+    private void saveShared(String key, Outcome outcome) {
+        try {
+            Date expiry = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds));
+            shared.save(new IdempotencyRecord(key, outcome.fingerprint(), "DONE", outcome.status(),
+                    objectMapper.writeValueAsString(outcome.body()), expiry));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // the booking went through; retries reaching this node still replay from memory
+            log.warn("Could not store the response for idempotency key {}", key, e);
+        }
+    }
+
+    private void releaseShared(String key) {
+        if (shared == null) {
+            return;
+        }
+        try {
+            shared.remove(query(where("_id").is(key).and("state").is("PENDING")), IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            // the lock expires after quickshow.idempotency.lock-seconds
+            log.warn("Could not release idempotency key {}", key, e);
+        }
+    }
+
+    private Object readBody(String json, Class<?> bodyType) {
+        try {
+            return json == null ? null : objectMapper.readValue(json, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable stored response for an idempotency key", e);
+        }
+    }
+
+    // taken before the action runs, since booking fills in fields on the request body
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Outcome(String fingerprint, int status, Object body) {
+    }
+}
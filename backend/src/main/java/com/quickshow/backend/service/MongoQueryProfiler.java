@@ -0,0 +1,340 @@
+package com.quickshow.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.quickshow.backend.dto.SlowQuery;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Times every Mongo command and attributes it to the repository method that issued it. The
+ * method is set on the calling thread by a proxy advice on every repository (see
+ * MongoProfilingConfig). The sync driver reports a command on that same thread, and getMores are
+ * traced back to the query that opened their cursor. Commands from the reactive driver or from
+ * MongoTemplate directly are recorded as {@code unattributed}.
+ *
+ * <p>Each command feeds {@code quickshow.mongo.commands} (a latency histogram) plus
+ * {@code quickshow.mongo.command.documents} and {@code .bytes}, all tagged by method, collection
+ * and command. Commands slower than {@code quickshow.mongo.profiler.slow-millis} also go into a
+ * fixed-size ring, kept with their filter and sort, for {@code GET /admin/mongo/slow-queries}.
+ */
+@Service
+public class MongoQueryProfiler implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoQueryProfiler.class);
+
+    static final String UNATTRIBUTED = "unattributed";
+
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Value("${quickshow.mongo.profiler.slow-millis:100}")
+    private long slowMillis;
+
+    @Value("${quickshow.mongo.profiler.slow-ring-size:200}")
+    private int slowRingSize;
+
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+    // open cursor id -> method that opened it; entries outlive a forgotten cursor by 10 minutes
+    private final Cache<Long, String> cursorOwners = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .maximumSize(10_000)
+            .build();
+    private AtomicReferenceArray<SlowQuery> slowRing;
+    private final AtomicLong slowCount = new AtomicLong();
+
+    @PostConstruct
+    void createRing() {
+        slowRing = new AtomicReferenceArray<>(slowRingSize);
+    }
+
+    /**
+     * Marks the calling thread as running {@code method} and returns the mark it replaces, which
+     * the caller hands back to {@link #exitMethod}. Nested repository calls keep the outer name.
+     */
+    public static String enterMethod(String method) {
+        String previous = CURRENT_METHOD.get();
+        if (previous == null) {
+            CURRENT_METHOD.set(method);
+        }
+        return previous;
+    }
+
+    public static void exitMethod(String previous) {
+        if (previous == null) {
+            CURRENT_METHOD.remove();
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String name = event.getCommandName();
+        String method = CURRENT_METHOD.get();
+        String collection;
+        if ("getMore".equals(name)) {
+            BsonValue cursorId = command.get("getMore");
+            if (method == null && cursorId != null && cursorId.isNumber()) {
+                method = cursorOwners.getIfPresent(cursorId.asNumber().longValue());
+            }
+            collection = stringOrNull(command.get("collection"));
+        } else {
+            collection = stringOrNull(command.get(name));
+        }
+        BsonDocument filter = filterOf(name, command);
+        BsonValue sort = "find".equals(name) ? command.get("sort") : null;
+        inFlight.put(event.getRequestId(), new Started(method == null ? UNATTRIBUTED : method,
+                collection == null ? "" : collection,
+                filter == null ? null : filter.clone(),
+                sort instanceof BsonDocument sortDocument ? sortDocument.clone() : null));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        Reply reply = Reply.of(event.getResponse());
+        if (reply.cursorId() != 0) {
+            cursorOwners.put(reply.cursorId(), started.method());
+        }
+        record(started, event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), reply, null);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        record(started, event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), Reply.EMPTY,
+                event.getThrowable().getMessage());
+    }
+
+    private void record(Started started, String command, long nanos, Reply reply, String error) {
+        Meters commandMeters = meters.computeIfAbsent(new MeterKey(started.method(), started.collection(), command),
+                this::createMeters);
+        commandMeters.latency().record(nanos, TimeUnit.NANOSECONDS);
+        commandMeters.documents().record(reply.documents());
+        if (reply.bytes() > 0) {
+            commandMeters.bytes().record(reply.bytes());
+        }
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(slowMillis)) {
+            SlowQuery slow = new SlowQuery();
+            slow.setAt(Instant.now());
+            slow.setMethod(started.method());
+            slow.setCollection(started.collection());
+            slow.setCommand(command);
+            slow.setMillis(nanos / 1_000_000.0);
+            slow.setDocuments(reply.documents());
+            slow.setBytes(reply.bytes());
+            slow.setFilter(started.filter() == null ? null : started.filter().toJson());
+            slow.setSort(started.sort() == null ? null : started.sort().toJson());
+            slow.setError(error);
+            slowRing.set((int) (slowCount.getAndIncrement() % slowRing.length()), slow);
+            log.warn("Slow Mongo {} on {} by {}: {} ms, {} documents, filter {}", command, started.collection(),
+                    started.method(), Math.round(slow.getMillis()), slow.getDocuments(), slow.getFilter());
+        }
+    }
+
+    private Meters createMeters(MeterKey key) {
+        Tags tags = Tags.of("method", key.method(), "collection", key.collection(), "command", key.command());
+        return new Meters(
+                Timer.builder("quickshow.mongo.commands")
+                        .description("Mongo command latency by the repository method that issued it")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(meterRegistry),
+                DistributionSummary.builder("quickshow.mongo.command.documents")
+                        .description("Documents returned, or matched by a write")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder("quickshow.mongo.command.bytes")
+                        .description("Size of the reply")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * The slow commands still in the ring, slowest first. With {@code explain}, each query with a
+     * filter is explained again (queryPlanner only, nothing runs), so the plan shows which index
+     * Mongo picks for it now.
+     */
+    public List<SlowQuery> getSlowQueries(boolean explain) {
+        List<SlowQuery> slow = new ArrayList<>();
+        for (int i = 0; i < slowRing.length(); i++) {
+            SlowQuery query = slowRing.get(i);
+            if (query != null) {
+                slow.add(query);
+            }
+        }
+        slow.sort(Comparator.comparingDouble(SlowQuery::getMillis).reversed());
+        MongoTemplate template = explain ? mongoTemplate.getIfAvailable() : null;
+        if (template != null) {
+            slow.forEach(query -> query.setPlan(explain(template, query)));
+        }
+        return slow;
+    }
+
+    private static String explain(MongoTemplate template, SlowQuery query) {
+        if (query.getFilter() == null || query.getCollection().isEmpty()) {
+            return null;
+        }
+        Document find = new Document("find", query.getCollection()).append("filter", Document.parse(query.getFilter()));
+        if (query.getSort() != null) {
+            find.append("sort", Document.parse(query.getSort()));
+        }
+        try {
+            Document explained = template.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+            List<String> stages = new ArrayList<>();
+            collectStages(((Document) explained.get("queryPlanner")).get("winningPlan"), stages);
+            return String.join(" <- ", stages);
+        } catch (RuntimeException e) {
+            return "explain failed: " + e.getMessage();
+        }
+    }
+
+    private static void collectStages(Object plan, List<String> stages) {
+        if (plan instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage != null) {
+                Object index = document.get("indexName");
+                stages.add(index == null ? stage.toString() : stage + " " + index);
+            }
+            for (String child : List.of("queryPlan", "inputStage", "inputStages")) {
+                collectStages(document.get(child), stages);
+            }
+        } else if (plan instanceof List<?> list) {
+            list.forEach(child -> collectStages(child, stages));
+        }
+    }
+
+    // the filter of a query or write; for a bulk write, that of its first statement
+    private static BsonDocument filterOf(String command, BsonDocument body) {
+        return switch (command) {
+            case "find" -> documentOrNull(body.get("filter"));
+            case "count", "distinct", "findAndModify" -> documentOrNull(body.get("query"));
+            case "update" -> firstStatementField(body.get("updates"), "q");
+            case "delete" -> firstStatementField(body.get("deletes"), "q");
+            case "aggregate" -> firstStatementField(body.get("pipeline"), "$match");
+            default -> null;
+        };
+    }
+
+    private static BsonDocument firstStatementField(BsonValue statements, String field) {
+        if (statements instanceof BsonArray array && !array.isEmpty() && array.get(0).isDocument()) {
+            return documentOrNull(array.get(0).asDocument().get(field));
+        }
+        return null;
+    }
+
+    private static BsonDocument documentOrNull(BsonValue value) {
+        return value != null && value.isDocument() ? value.asDocument() : null;
+    }
+
+    private static String stringOrNull(BsonValue value) {
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    private record Started(String method, String collection, BsonDocument filter, BsonDocument sort) {
+    }
+
+    private record MeterKey(String method, String collection, String command) {
+    }
+
+    private record Meters(Timer latency, DistributionSummary documents, DistributionSummary bytes) {
+    }
+
+    /**
+     * What a reply holds, read by skipping through its BSON rather than decoding the batch.
+     * Documents are the cursor batch size or {@code n} for counts and writes.
+     */
+    private record Reply(int documents, long cursorId, int bytes) {
+
+        static final Reply EMPTY = new Reply(0, 0, 0);
+
+        static Reply of(BsonDocument response) {
+            int documents = 0;
+            long cursorId = 0;
+            // the driver hands listeners the raw reply, so its size is known without encoding it
+            int bytes = response instanceof RawBsonDocument raw ? raw.getByteBuffer().remaining() : 0;
+            try (BsonReader reader = response.asBsonReader()) {
+                reader.readStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    String field = reader.readName();
+                    if ("cursor".equals(field) && reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+                        reader.readStartDocument();
+                        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                            String cursorField = reader.readName();
+                            if ("firstBatch".equals(cursorField) || "nextBatch".equals(cursorField)) {
+                                reader.readStartArray();
+                                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                                    reader.skipValue();
+                                    documents++;
+                                }
+                                reader.readEndArray();
+                            } else if ("id".equals(cursorField) && reader.getCurrentBsonType() == BsonType.INT64) {
+                                cursorId = reader.readInt64();
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.readEndDocument();
+                    } else if ("n".equals(field) && reader.getCurrentBsonType() == BsonType.INT32) {
+                        documents = reader.readInt32();
+                    } else if ("value".equals(field)) {
+                        documents = reader.getCurrentBsonType() == BsonType.NULL ? 0 : 1;
+                        reader.skipValue();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // an unexpected reply shape only costs us the counts
+            }
+            return new Reply(documents, cursorId, bytes);
+        }
+    }
+}
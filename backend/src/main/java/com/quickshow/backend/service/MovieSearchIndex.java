@@ -0,0 +1,304 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.model.Movie;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the searchable fields of active movies. A query token matches a term
+ * exactly, as a prefix of it, or with one typo (insert, delete, replace or swap). Typos are
+ * found through a table of single-character deletions of every term, so a lookup costs a few
+ * hash probes per token no matter how large the vocabulary is.
+ *
+ * <p>Every query token has to match for a movie to be returned. Movies are ranked by the sum
+ * of field weight times idf over the tokens, discounted for prefix and typo matches.
+ */
+public class MovieSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float TITLE_WEIGHT = 5f;
+    private static final float PEOPLE_WEIGHT = 3f;
+    private static final float GENRE_WEIGHT = 2f;
+    private static final float TEXT_WEIGHT = 1f;
+
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float TYPO_FACTOR = 0.5f;
+    private static final int MIN_TYPO_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private volatile State state;
+    private Set<String> touchedDuringRebuild;
+
+    public boolean isWarm() {
+        return state != null;
+    }
+
+    public int size() {
+        State current = state;
+        return current == null ? 0 : current.movies.size();
+    }
+
+    /**
+     * Best matches first. Empty if the index has not been loaded yet, so the caller can fall
+     * back to the database.
+     */
+    public Optional<List<Movie>> search(String query, int limit) {
+        State current = state;
+        if (current == null) {
+            return Optional.empty();
+        }
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return Optional.of(List.of());
+        }
+
+        Map<String, Float> scores = null;
+        for (String token : tokens) {
+            Map<String, Float> tokenScores = scoreToken(current, token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<String, Float> tokenMatches = tokenScores;
+                scores.keySet().retainAll(tokenMatches.keySet());
+                scores.replaceAll((movieId, score) -> score + tokenMatches.get(movieId));
+            }
+            if (scores.isEmpty()) {
+                return Optional.of(List.of());
+            }
+        }
+
+        Map<String, Float> ranked = scores;
+        return Optional.of(ranked.keySet().stream()
+                .map(current.movies::get)
+                .filter(movie -> movie != null)
+                .sorted(Comparator.comparing((Movie movie) -> ranked.get(movie.getId())).reversed()
+                        .thenComparing(Comparator.comparingDouble(Movie::getRatingScore).reversed())
+                        .thenComparing(Movie::getId))
+                .limit(limit)
+                .toList());
+    }
+
+    public synchronized void beginRebuild() {
+        touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Swaps in an index built from {@code movies} and returns the ids written meanwhile; the
+     * caller should re-read those and {@link #upsert} or {@link #remove} them.
+     */
+    public Set<String> finishRebuild(Collection<Movie> movies) {
+        State next = new State();
+        for (Movie movie : movies) {
+            if (movie.isActive() && movie.getId() != null) {
+                add(next, movie);
+            }
+        }
+        synchronized (this) {
+            Set<String> touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+            state = next;
+            return touched == null ? Set.of() : touched;
+        }
+    }
+
+    public synchronized void upsert(Movie movie) {
+        touch(movie.getId());
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        remove(current, movie.getId());
+        if (movie.isActive()) {
+            add(current, movie);
+        }
+    }
+
+    public synchronized void remove(String movieId) {
+        touch(movieId);
+        State current = state;
+        if (current != null) {
+            remove(current, movieId);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<String, Float> scoreToken(State current, String token) {
+        Map<String, Float> matches = new HashMap<>();
+        matchTerm(current, token, 1f, matches);
+        int expansions = 0;
+        for (String term : current.postings.tailMap(token, false).keySet()) {
+            if (!term.startsWith(token) || ++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matchTerm(current, term, PREFIX_FACTOR, matches);
+        }
+        if (token.length() >= MIN_TYPO_LENGTH) {
+            for (String term : typoCandidates(current, token)) {
+                matchTerm(current, term, TYPO_FACTOR, matches);
+            }
+        }
+        return matches;
+    }
+
+    private void matchTerm(State current, String term, float factor, Map<String, Float> matches) {
+        Map<String, Float> posting = current.postings.get(term);
+        if (posting == null || posting.isEmpty()) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) current.movies.size() / posting.size());
+        posting.forEach((movieId, weight) -> matches.merge(movieId, weight * idf * factor, Math::max));
+    }
+
+    private Set<String> typoCandidates(State current, String token) {
+        Set<String> candidates = new HashSet<>();
+        // a term one edit away is a deletion of the token, has the token as one of its
+        // deletions, or shares a deletion with it
+        collect(current.deletions.get(token), candidates);
+        for (String deletion : deletions(token)) {
+            if (current.postings.containsKey(deletion)) {
+                candidates.add(deletion);
+            }
+            collect(current.deletions.get(deletion), candidates);
+        }
+        candidates.removeIf(term -> term.equals(token) || !withinOneEdit(token, term));
+        return candidates;
+    }
+
+    private static void collect(Set<String> terms, Set<String> into) {
+        if (terms != null) {
+            into.addAll(terms);
+        }
+    }
+
+    private static void add(State current, Movie movie) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, movie.getTitle(), TITLE_WEIGHT);
+        addField(weights, movie.getDirector(), PEOPLE_WEIGHT);
+        if (movie.getCast() != null) {
+            movie.getCast().forEach(member -> addField(weights, member, PEOPLE_WEIGHT));
+        }
+        addField(weights, movie.getGenre(), GENRE_WEIGHT);
+        addField(weights, movie.getLanguage(), TEXT_WEIGHT);
+        addField(weights, movie.getDescription(), TEXT_WEIGHT);
+
+        current.movies.put(movie.getId(), movie);
+        current.terms.put(movie.getId(), weights.keySet());
+        weights.forEach((term, weight) -> {
+            current.postings.computeIfAbsent(term, t -> {
+                if (t.length() >= MIN_TYPO_LENGTH) {
+                    deletions(t).forEach(deletion -> current.deletions.computeIfAbsent(deletion, d -> ConcurrentHashMap.newKeySet()).add(t));
+                }
+                return new ConcurrentHashMap<>();
+            }).put(movie.getId(), weight);
+        });
+    }
+
+    private static void remove(State current, String movieId) {
+        Set<String> terms = current.terms.remove(movieId);
+        current.movies.remove(movieId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, Float> posting = current.postings.get(term);
+            if (posting != null) {
+                posting.remove(movieId);
+                if (posting.isEmpty()) {
+                    current.postings.remove(term);
+                    if (term.length() >= MIN_TYPO_LENGTH) {
+                        for (String deletion : deletions(term)) {
+                            current.deletions.computeIfPresent(deletion, (d, owners) -> {
+                                owners.remove(term);
+                                return owners.isEmpty() ? null : owners;
+                            });
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            // repeated terms count, but less than a term showing up in a stronger field
+            weights.merge(term, weight, (a, b) -> Math.max(a, b) + 0.1f * Math.min(a, b));
+        }
+    }
+
+    private static Set<String> deletions(String term) {
+        Set<String> deletions = new HashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            deletions.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return deletions;
+    }
+
+    /**
+     * True if one insert, delete, substitution or swap of adjacent characters turns a into b.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDiff > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDiff < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    private void touch(String movieId) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(movieId);
+        }
+    }
+
+    private static final class State {
+        private final ConcurrentHashMap<String, Movie> movies = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Set<String>> terms = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Map<String, Float>> postings = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<String, Set<String>> deletions = new ConcurrentHashMap<>();
+    }
+}
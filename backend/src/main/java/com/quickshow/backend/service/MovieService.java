@@ -1,45 +1,124 @@
 package com.quickshow.backend.service;
 
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.Movie;
 import com.quickshow.backend.repository.MovieRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class MovieService {
 
+    static final String ACTIVE = "active";
+
     @Autowired
     private MovieRepository movieRepository;
 
-    public List<Movie> getAllMovies() {
-        return movieRepository.findByIsActiveTrue();
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Value("${quickshow.search.max-results:50}")
+    private int maxSearchResults;
+
+    private ReadThroughCache<String, List<Movie>> movieLists;
+    private ReadThroughCache<String, Optional<Movie>> moviesById;
+    private final MovieSearchIndex searchIndex = new MovieSearchIndex();
+
+    @PostConstruct
+    void createCaches() {
+        movieLists = catalogCache.create("movieLists");
+        moviesById = catalogCache.create("movies");
+    }
+
+    // shared with ReactiveCatalogService, so the invalidations below cover both read paths
+    ReadThroughCache<String, Optional<Movie>> moviesById() {
+        return moviesById;
+    }
+
+    // one cached page per cursor, size and selection; writes drop them all
+    public CursorPage<Movie> getAllMovies(String after, int limit, FieldSelection.Fields<Movie> fields) {
+        int pageSize = CursorPage.clampLimit(limit);
+        String start = CursorPage.startAfter(after);
+        String key = ACTIVE + '|' + start + '|' + pageSize + (fields == null ? "" : '|' + fields.key());
+        List<Movie> movies = movieLists.get(key, k -> fields == null
+                ? movieRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(start, Limit.of(pageSize + 1))
+                : movieRepository.findActiveWithFields(start, Limit.of(pageSize + 1), fields.mongoFields()));
+        return CursorPage.of(movies, pageSize, Movie::getId);
     }
 
     public Optional<Movie> getMovieById(String id) {
-        return movieRepository.findById(id);
+        return moviesById.get(id, movieRepository::findById);
     }
 
-    public List<Movie> getMoviesByGenre(String genre) {
-        return movieRepository.findByGenre(genre);
+    public CursorPage<Movie> getMoviesByGenre(String genre, String after, int limit, FieldSelection.Fields<Movie> fields) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Movie> movies = fields == null
+                ? movieRepository.findByGenreAndIdGreaterThanOrderByIdAsc(genre, CursorPage.startAfter(after), Limit.of(pageSize + 1))
+                : movieRepository.findByGenreWithFields(genre, CursorPage.startAfter(after), Limit.of(pageSize + 1), fields.mongoFields());
+        return CursorPage.of(movies, pageSize, Movie::getId);
     }
 
     public List<Movie> searchMoviesByTitle(String title) {
         return movieRepository.findByTitleContainingIgnoreCase(title);
     }
 
-    public List<Movie> getMoviesByLanguage(String language) {
-        return movieRepository.findByLanguage(language);
+    public List<Movie> searchMovies(String query, int limit) {
+        return searchIndex.search(query, Math.min(limit, maxSearchResults))
+                .orElseGet(() -> searchMoviesByTitle(query));
+    }
+
+    /**
+     * Reloads the search index. Runs at startup and then periodically to pick up movies
+     * written by other replicas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${quickshow.search.refresh-millis:300000}",
+            fixedDelayString = "${quickshow.search.refresh-millis:300000}")
+    public void rebuildSearchIndex() {
+        searchIndex.beginRebuild();
+        Set<String> touched = new HashSet<>(searchIndex.finishRebuild(movieRepository.findByIsActiveTrue()));
+        if (!touched.isEmpty()) {
+            for (Movie movie : movieRepository.findAllById(touched)) {
+                searchIndex.upsert(movie);
+                touched.remove(movie.getId());
+            }
+            touched.forEach(searchIndex::remove);
+        }
+    }
+
+    public CursorPage<Movie> getMoviesByLanguage(String language, String after, int limit, FieldSelection.Fields<Movie> fields) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Movie> movies = fields == null
+                ? movieRepository.findByLanguageAndIdGreaterThanOrderByIdAsc(language, CursorPage.startAfter(after), Limit.of(pageSize + 1))
+                : movieRepository.findByLanguageWithFields(language, CursorPage.startAfter(after), Limit.of(pageSize + 1), fields.mongoFields());
+        return CursorPage.of(movies, pageSize, Movie::getId);
     }
 
     public Movie createMovie(Movie movie) {
         movie.setCreatedAt(LocalDateTime.now());
         movie.setUpdatedAt(LocalDateTime.now());
         movie.setActive(true);
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        searchIndex.upsert(savedMovie);
+        suggestService.markDirty();
+        moviesById.invalidate(savedMovie.getId());
+        movieLists.invalidateAll();
+        return savedMovie;
     }
 
     public Movie updateMovie(String id, Movie movieDetails) {
@@ -59,7 +138,12 @@ public class MovieService {
             existingMovie.setLanguage(movieDetails.getLanguage());
             existingMovie.setReleaseDate(movieDetails.getReleaseDate());
             existingMovie.setUpdatedAt(LocalDateTime.now());
-            return movieRepository.save(existingMovie);
+            Movie savedMovie = movieRepository.save(existingMovie);
+            searchIndex.upsert(savedMovie);
+            suggestService.markDirty();
+            moviesById.invalidate(id);
+            movieLists.invalidateAll();
+            return savedMovie;
         }
         return null;
     }
@@ -71,6 +155,10 @@ public class MovieService {
             existingMovie.setActive(false);
             existingMovie.setUpdatedAt(LocalDateTime.now());
             movieRepository.save(existingMovie);
+            searchIndex.remove(id);
+            suggestService.markDirty();
+            moviesById.invalidate(id);
+            movieLists.invalidateAll();
             return true;
         }
         return false;
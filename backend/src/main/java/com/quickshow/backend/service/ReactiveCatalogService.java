@@ -0,0 +1,63 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.repository.reactive.ReactiveMovieRepository;
+import com.quickshow.backend.repository.reactive.ReactiveShowRepository;
+import com.quickshow.backend.repository.reactive.ReactiveTheaterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Non-blocking versions of the busiest catalog reads. Lists stream straight from the reactive
+ * Mongo cursor: documents go out as they arrive, and the driver only requests the next batch when
+ * the client has taken the last one, so a slow reader holds back the cursor instead of filling the
+ * heap. Single movies come from the same cache as the blocking path, so its writes invalidate both.
+ * Needs Mongo, so it is not available under the {@code inmemory} profile.
+ */
+@Service
+@Profile("!inmemory")
+public class ReactiveCatalogService {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ReactiveMovieRepository movieRepository;
+
+    @Autowired
+    private ReactiveShowRepository showRepository;
+
+    @Autowired
+    private ReactiveTheaterRepository theaterRepository;
+
+    public Flux<Movie> getAllMovies() {
+        return movieRepository.findByIsActiveTrue();
+    }
+
+    public Mono<Movie> getMovieById(String id) {
+        return movieService.moviesById()
+                .getAsync(id, key -> movieRepository.findById(key).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    // in show-time order from the index, so nothing is sorted in memory
+    public Flux<Show> getShowsByMovieAndDate(String movieId, LocalDate showDate) {
+        return showRepository.findByMovieIdAndShowDateAndIsActiveTrueOrderByShowTimeAscIdAsc(movieId, showDate);
+    }
+
+    public Flux<Theater> getAllTheaters() {
+        return theaterRepository.findByIsActiveTrue();
+    }
+
+    public Flux<Theater> getTheatersByCity(String city) {
+        return theaterRepository.findByCityAndIsActiveTrue(city);
+    }
+}
@@ -0,0 +1,75 @@
+package com.quickshow.backend.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * A Caffeine cache that runs its loads on the calling thread, outside Caffeine's map lock.
+ * {@code Cache.get(key, loader)} loads inside {@code ConcurrentHashMap.compute}, so the lock is
+ * held for the whole Mongo round trip. On Java 21 that pins a virtual thread to its carrier, and
+ * a burst of misses can pin every carrier. Here the map only holds a future. The first caller
+ * for a key loads it and completes the future; later callers wait on it, so a miss still
+ * reaches Mongo only once.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final AsyncCache<K, V> cache;
+
+    ReadThroughCache(AsyncCache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> value = cache.get(key, (k, executor) -> loading);
+        if (value == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                // Caffeine drops a failed future, so the next caller tries again
+                loading.completeExceptionally(e);
+            }
+        }
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking {@link #get}. On a miss the returned Mono subscribes to {@code loader}, and
+     * callers asking for the same key meanwhile share that load. Cancelling one subscriber leaves
+     * the shared load running.
+     */
+    public Mono<V> getAsync(K key, Function<? super K, Mono<V>> loader) {
+        return Mono.defer(() -> Mono.fromFuture(cache.get(key, (k, executor) -> loader.apply(k).toFuture()), true));
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
@@ -0,0 +1,288 @@
+package com.quickshow.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes seat claim/release deltas to SSE subscribers of a show. Changes are coalesced per
+ * show and flushed once per window; each flush serializes one payload that every subscriber
+ * shares. Every payload carries the seat map's epoch and seatVersion, so a client applies it only
+ * if it is newer than the GET /shows/{id}/seats snapshot it holds.
+ *
+ * <p>Subscribers have small bounded queues drained by a fixed sender pool with a bounded task
+ * queue, so the thread count never depends on how many clients are watching. SseEmitter only
+ * offers a blocking write, so senders write directly and the flusher acts as the watchdog: a
+ * client whose write has been running for {@code quickshow.seats.stream.send-timeout-millis} is
+ * disconnected, which ends the write. A client that falls a full queue behind, or that cannot be
+ * scheduled because the send queue is full, is disconnected too; EventSource reconnects and
+ * starts again from a "resync".
+ */
+@Service
+public class SeatEventBroadcaster {
+
+    private static final String RESYNC = "{\"resync\":true}";
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Value("${quickshow.seats.stream.window-millis:100}")
+    private long windowMillis;
+
+    @Value("${quickshow.seats.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${quickshow.seats.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${quickshow.seats.stream.send-queue-size:65536}")
+    private int sendQueueSize;
+
+    @Value("${quickshow.seats.stream.send-timeout-millis:2000}")
+    private long sendTimeoutMillis;
+
+    @Value("${quickshow.seats.stream.timeout-minutes:30}")
+    private long emitterTimeoutMinutes;
+
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private ExecutorService senders;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        // at most one task per subscriber is queued, so the queue only fills with that many watchers
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "seat-stream-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(String showId) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(emitterTimeoutMinutes));
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        Channel channel;
+        do {
+            channel = channels.computeIfAbsent(showId, id -> new Channel());
+            subscriber.channel = channel;
+            channel.subscribers.add(subscriber);
+            // the flusher may have dropped an idle channel just before we joined it
+        } while (channels.get(showId) != channel && channel.subscribers.remove(subscriber));
+        Runnable remove = () -> subscriber.channel.subscribers.remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        // The client has no baseline yet, so its first instruction is to load the seat map.
+        subscriber.resync.set(true);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount(String showId) {
+        Channel channel = channels.get(showId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    public void seatsClaimed(String showId, List<String> seatNumbers) {
+        record(showId, seatNumbers, Boolean.TRUE);
+    }
+
+    public void seatsReleased(String showId, List<String> seatNumbers) {
+        record(showId, seatNumbers, Boolean.FALSE);
+    }
+
+    private void record(String showId, List<String> seatNumbers, Boolean claimed) {
+        Channel channel = channels.get(showId);
+        if (channel == null || channel.subscribers.isEmpty() || seatNumbers == null) {
+            return;
+        }
+        // read after the change was applied locally, so the version covers it
+        Optional<ShowSeatMap> seatMap = seatInventoryService.getLoadedSeatMap(showId);
+        synchronized (channel) {
+            if (seatMap.isEmpty()) {
+                // the map was evicted; whatever clients hold is from an old epoch
+                channel.resync = true;
+                return;
+            }
+            String epoch = seatMap.get().getEpoch();
+            long seatVersion = seatMap.get().getVersion();
+            if (!epoch.equals(channel.epoch) || seatVersion > channel.seatVersion) {
+                channel.epoch = epoch;
+                channel.seatVersion = seatVersion;
+            }
+            for (String seatNumber : seatNumbers) {
+                // insertion order is kept; a later change to the same seat replaces the earlier one
+                channel.pending.remove(seatNumber);
+                channel.pending.put(seatNumber, claimed);
+            }
+        }
+    }
+
+    private void flush() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+            Channel channel = entry.getValue();
+            for (Subscriber subscriber : channel.subscribers) {
+                long started = subscriber.writeStartedNanos;
+                if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis)) {
+                    drop(subscriber, new IOException("Seat stream send took longer than " + sendTimeoutMillis + " ms"));
+                }
+            }
+            if (channel.subscribers.isEmpty()) {
+                channels.remove(entry.getKey(), channel);
+                continue;
+            }
+            String payload = null;
+            boolean resync;
+            synchronized (channel) {
+                resync = channel.resync;
+                channel.resync = false;
+                if (!channel.pending.isEmpty()) {
+                    payload = toJson(channel.epoch, channel.seatVersion, channel.pending);
+                    channel.pending.clear();
+                }
+            }
+            if (payload == null && !resync) {
+                continue;
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                if (resync) {
+                    subscriber.resync.set(true);
+                } else if (!subscriber.queue.offer(payload)) {
+                    drop(subscriber, new IllegalStateException("Seat stream subscriber fell " + bufferSize + " events behind"));
+                    continue;
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+                drop(subscriber, e);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.resync.getAndSet(false)) {
+                    subscriber.queue.clear();
+                    send(subscriber, "resync", RESYNC);
+                }
+                String payload = subscriber.queue.poll();
+                if (payload == null) {
+                    break;
+                }
+                send(subscriber, "seats", payload);
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Something may have been queued between the last poll and clearing the flag.
+        if (!subscriber.queue.isEmpty() || subscriber.resync.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    // the flusher drops the subscriber if this runs past the send timeout
+    private void send(Subscriber subscriber, String name, String payload) throws IOException {
+        subscriber.writeStartedNanos = System.nanoTime();
+        try {
+            subscriber.emitter.send(SseEmitter.event().name(name).data(payload, MediaType.APPLICATION_JSON));
+        } finally {
+            subscriber.writeStartedNanos = 0;
+        }
+    }
+
+    // once per subscriber; the watchdog and the failed write may both get here
+    private void drop(Subscriber subscriber, Exception reason) {
+        if (!subscriber.dropped.compareAndSet(false, true)) {
+            return;
+        }
+        subscriber.channel.subscribers.remove(subscriber);
+        subscriber.queue.clear();
+        subscriber.emitter.completeWithError(reason);
+    }
+
+    private String toJson(String epoch, long seatVersion, Map<String, Boolean> changes) {
+        StringBuilder claimed = new StringBuilder();
+        StringBuilder released = new StringBuilder();
+        for (Map.Entry<String, Boolean> change : changes.entrySet()) {
+            StringBuilder target = change.getValue() ? claimed : released;
+            if (target.length() > 0) {
+                target.append(',');
+            }
+            target.append('"').append(change.getKey().replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return "{\"epoch\":\"" + epoch + "\",\"seatVersion\":" + seatVersion
+                + ",\"claimed\":[" + claimed + "],\"released\":[" + released + "]}";
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final LinkedHashMap<String, Boolean> pending = new LinkedHashMap<>();
+        // of the newest change in pending; guarded by the channel like pending
+        private String epoch;
+        private long seatVersion;
+        private boolean resync;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<String> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean resync = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        // System.nanoTime() when the write in progress began, 0 between writes
+        private volatile long writeStartedNanos;
+        private volatile Channel channel;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
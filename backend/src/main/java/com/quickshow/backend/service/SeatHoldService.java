@@ -0,0 +1,241 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.TicketRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporary seat reservations. A hold is a PENDING ticket whose seats are claimed exactly like a
+ * purchase; it either becomes CONFIRMED on payment or is moved to EXPIRED by the timing wheel
+ * and its seats are released. Status changes are conditional updates, so a hold can only
+ * finish once even when several replicas have it scheduled.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TicketBookingService ticketBookingService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${quickshow.holds.ttl-seconds:600}")
+    private long holdTtlSeconds;
+
+    @Value("${quickshow.holds.max-seats:6}")
+    private int maxSeatsPerHold;
+
+    @Value("${quickshow.holds.expiry-threads:4}")
+    private int expiryThreads;
+
+    @Value("${quickshow.holds.sweep-page-size:500}")
+    private int sweepPageSize;
+
+    private final ConcurrentHashMap<String, HashedWheelTimer.Timeout> expiries = new ConcurrentHashMap<>();
+    private ExecutorService expiryExecutor;
+    private HashedWheelTimer wheel;
+
+    @PostConstruct
+    void startWheel() {
+        expiryExecutor = Executors.newFixedThreadPool(expiryThreads);
+        wheel = new HashedWheelTimer(1, TimeUnit.SECONDS, 512, expiryExecutor, "seat-hold-wheel");
+        wheel.start();
+    }
+
+    @PreDestroy
+    void stopWheel() {
+        wheel.stop();
+        expiryExecutor.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleOpenHolds() {
+        int rescheduled = 0;
+        String after = CursorPage.startAfter(null);
+        List<Ticket> page;
+        do {
+            page = ticketRepository.findByBookingStatusAndIdGreaterThanOrderByIdAsc("PENDING", after, Limit.of(sweepPageSize));
+            for (Ticket hold : page) {
+                if (hold.getHoldExpiresAt() != null) {
+                    scheduleExpiry(hold);
+                    rescheduled++;
+                }
+                after = hold.getId();
+            }
+        } while (page.size() == sweepPageSize);
+        log.info("Rescheduled {} open seat holds", rescheduled);
+    }
+
+    /**
+     * Backstop for the wheel: expires PENDING holds that are past their expiry but were never
+     * timed here, e.g. placed on a replica that has since gone away. Every hold expired leaves
+     * the query, so each page is read from the start of the status_hold_expiry index again.
+     */
+    @Scheduled(initialDelayString = "${quickshow.holds.sweep-millis:60000}",
+            fixedDelayString = "${quickshow.holds.sweep-millis:60000}")
+    public void sweepExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        int swept = 0;
+        List<Ticket> page;
+        do {
+            page = ticketRepository.findByBookingStatusAndHoldExpiresAtLessThanOrderByHoldExpiresAtAsc("PENDING", now, Limit.of(sweepPageSize));
+            int failed = 0;
+            for (Ticket hold : page) {
+                cancelExpiry(hold.getId());
+                if (!expire(hold.getId(), hold.getShowId(), hold.getSeatNumbers())) {
+                    failed++;
+                }
+            }
+            swept += page.size() - failed;
+            if (failed > 0) {
+                // those holds would come back on the next page; the wheel retries them
+                break;
+            }
+        } while (page.size() == sweepPageSize);
+        if (swept > 0) {
+            log.info("Swept {} expired seat holds", swept);
+        }
+    }
+
+    public Ticket placeHold(String showId, String userId, List<String> seatNumbers) {
+        List<String> seats = seatInventoryService.normalize(seatNumbers);
+        if (seats == null || seats.isEmpty() || seats.size() > maxSeatsPerHold) {
+            return null;
+        }
+        Optional<Show> show = showService.getShowById(showId);
+        if (show.isEmpty() || !show.get().isActive()) {
+            return null;
+        }
+        String holdId = new ObjectId().toHexString();
+        if (!ticketBookingService.reserveSeats(showId, seats, List.of(holdId))) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Ticket hold = new Ticket();
+        hold.setId(holdId);
+        hold.setUserId(userId);
+        hold.setShowId(showId);
+        hold.setMovieId(show.get().getMovieId());
+        hold.setTheaterId(show.get().getTheaterId());
+        hold.setSeatNumbers(seats);
+        if (show.get().getTicketPrice() != null) {
+            hold.setTotalAmount(show.get().getTicketPrice().multiply(BigDecimal.valueOf(seats.size())));
+        }
+        hold.setBookingStatus("PENDING");
+        hold.setPaymentStatus("PENDING");
+        if (show.get().getShowDate() != null && show.get().getShowTime() != null) {
+            hold.setShowDateTime(show.get().getShowDate().atTime(show.get().getShowTime()));
+        }
+        hold.setHoldExpiresAt(now.plusSeconds(holdTtlSeconds));
+        hold.setCreatedAt(now);
+        hold.setUpdatedAt(now);
+
+        Ticket savedHold;
+        try {
+            savedHold = ticketRepository.save(hold);
+        } catch (RuntimeException e) {
+            ticketBookingService.cancelReservation(showId, seats, List.of(holdId));
+            throw e;
+        }
+        scheduleExpiry(savedHold);
+        return savedHold;
+    }
+
+    public Ticket confirmHold(String showId, String holdId, String paymentMethod) {
+        Ticket confirmed = ticketRepository.confirmHold(holdId, showId, paymentMethod, LocalDateTime.now());
+        if (confirmed != null) {
+            cancelExpiry(holdId);
+            suggestService.recordBooking(confirmed.getMovieId(), confirmed.getTheaterId(), confirmed.getSeatNumbers().size());
+            bookingMetrics.ticketsBooked(1);
+        }
+        return confirmed;
+    }
+
+    public boolean releaseHold(String showId, String holdId) {
+        Optional<Ticket> hold = ticketRepository.findById(holdId);
+        if (hold.isEmpty() || !hold.get().getShowId().equals(showId)) {
+            return false;
+        }
+        if (ticketRepository.transitionBookingStatus(holdId, List.of("PENDING"), "CANCELLED")) {
+            cancelExpiry(holdId);
+            ticketBookingService.releaseReservedSeats(showId, hold.get().getSeatNumbers());
+        }
+        return true;
+    }
+
+    public int getOpenHoldCount() {
+        return wheel.getPendingTimeouts();
+    }
+
+    private void scheduleExpiry(Ticket hold) {
+        String holdId = hold.getId();
+        String showId = hold.getShowId();
+        List<String> seats = hold.getSeatNumbers();
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), hold.getHoldExpiresAt()).toMillis());
+        HashedWheelTimer.Timeout timeout = wheel.schedule(() -> expire(holdId, showId, seats), delayMillis, TimeUnit.MILLISECONDS);
+        HashedWheelTimer.Timeout previous = expiries.put(holdId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancelExpiry(String holdId) {
+        HashedWheelTimer.Timeout timeout = expiries.remove(holdId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    // false if the hold may still be PENDING; it is then retried on the wheel
+    private boolean expire(String holdId, String showId, List<String> seats) {
+        expiries.remove(holdId);
+        try {
+            if (ticketRepository.transitionBookingStatus(holdId, List.of("PENDING"), "EXPIRED")) {
+                ticketBookingService.releaseReservedSeats(showId, seats);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to expire seat hold {}, retrying in 30s", holdId, e);
+            expiries.put(holdId, wheel.schedule(() -> expire(holdId, showId, seats), 30, TimeUnit.SECONDS));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.dto.SeatMapResponse;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.ShowRepository;
+import com.quickshow.backend.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a seat bitmap per show so seat conflicts are detected in memory before any write
+ * reaches Mongo. Maps are built lazily from the show's bookedSeats, which stays the source of
+ * truth across replicas, and dropped whenever the show changes or Mongo disagrees with them.
+ * Shows written before bookedSeats existed get it filled in from their live tickets on first load.
+ *
+ * <p>Releases made on other replicas never reach this node's map, so a seat the map still shows
+ * as taken is checked against Mongo (at most once per {@code quickshow.seats.recheck-millis} per
+ * show) and the map is rebuilt if Mongo has it free.
+ */
+@Service
+public class SeatInventoryService {
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${quickshow.seats.per-row:10}")
+    private int seatsPerRow;
+
+    @Value("${quickshow.seats.recheck-millis:1000}")
+    private long recheckMillis;
+
+    // a map still loading is a pending future, so concurrent first requests share one Mongo read
+    private final ConcurrentHashMap<String, CompletableFuture<ShowSeatMap>> seatMaps = new ConcurrentHashMap<>();
+
+    public Optional<ShowSeatMap> getSeatMap(String showId) {
+        if (showId == null) {
+            return Optional.empty();
+        }
+        CompletableFuture<ShowSeatMap> loading = seatMaps.get(showId);
+        if (loading == null) {
+            CompletableFuture<ShowSeatMap> mine = new CompletableFuture<>();
+            loading = seatMaps.putIfAbsent(showId, mine);
+            if (loading == null) {
+                // loaded outside the map, so a slow read never holds up other shows in the same bin
+                return Optional.ofNullable(load(showId, mine));
+            }
+        }
+        return Optional.ofNullable(loading.join());
+    }
+
+    /**
+     * Seat map for the seat picker. When the caller's epoch matches and the change log still
+     * covers {@code sinceVersion}, only the seats that changed are returned.
+     */
+    public Optional<SeatMapResponse> getSeatMapView(String showId, String epoch, Long sinceVersion) {
+        Optional<ShowSeatMap> seatMap = getSeatMap(showId);
+        if (seatMap.isEmpty()) {
+            return Optional.empty();
+        }
+        ShowSeatMap map = seatMap.get();
+        SeatMapResponse response = new SeatMapResponse();
+        response.setShowId(showId);
+        response.setEpoch(map.getEpoch());
+        response.setTotalSeats(map.getTotalSeats());
+        response.setSeatsPerRow(map.getSeatsPerRow());
+
+        List<ShowSeatMap.Change> changes = sinceVersion != null && map.getEpoch().equals(epoch)
+                ? map.changesSince(sinceVersion) : null;
+        if (changes != null) {
+            List<String> claimed = new ArrayList<>();
+            List<String> released = new ArrayList<>();
+            for (ShowSeatMap.Change change : changes) {
+                for (int index : change.indexes()) {
+                    String label = map.labelOf(index);
+                    // a seat that flips back and forth only needs its latest state
+                    claimed.remove(label);
+                    released.remove(label);
+                    (change.claimed() ? claimed : released).add(label);
+                }
+            }
+            response.setSeatVersion(changes.isEmpty() ? sinceVersion : changes.get(changes.size() - 1).version());
+            response.setClaimed(claimed);
+            response.setReleased(released);
+        } else {
+            ShowSeatMap.Snapshot snapshot = map.snapshot();
+            response.setFull(true);
+            response.setSeatVersion(snapshot.version());
+            response.setSeats(Base64.getEncoder().encodeToString(snapshot.bitmap()));
+        }
+        response.setAvailableSeats(map.getAvailableSeats());
+        return Optional.of(response);
+    }
+
+    public boolean claimSeats(String showId, List<String> seatNumbers) {
+        Optional<ShowSeatMap> seatMap = getSeatMap(showId);
+        if (seatMap.isEmpty()) {
+            return false;
+        }
+        int[] indexes = seatMap.get().toIndexes(seatNumbers);
+        if (indexes == null) {
+            return false;
+        }
+        if (seatMap.get().claim(indexes)) {
+            return true;
+        }
+        if (seatMap.get().tryRecheck(TimeUnit.MILLISECONDS.toNanos(recheckMillis))
+                && !showRepository.anySeatBooked(showId, seatNumbers)) {
+            // freed on another replica since this map was built
+            evict(showId, seatMap.get());
+            Optional<ShowSeatMap> reloaded = getSeatMap(showId);
+            int[] reloadedIndexes = reloaded.map(map -> map.toIndexes(seatNumbers)).orElse(null);
+            if (reloadedIndexes != null && reloaded.get().claim(reloadedIndexes)) {
+                return true;
+            }
+        }
+        bookingMetrics.seatConflict();
+        return false;
+    }
+
+    // false for an unknown show or any label that is malformed or outside the show's hall
+    public boolean seatsExist(String showId, List<String> seatNumbers) {
+        Optional<ShowSeatMap> seatMap = getSeatMap(showId);
+        return seatMap.isPresent() && seatNumbers.stream().allMatch(seat -> seatMap.get().indexOf(seat) >= 0);
+    }
+
+    public void releaseSeats(String showId, List<String> seatNumbers) {
+        ShowSeatMap seatMap = getLoadedSeatMap(showId).orElse(null);
+        if (seatMap == null || seatNumbers == null) {
+            return;
+        }
+        int[] indexes = seatNumbers.stream().mapToInt(seatMap::indexOf).filter(index -> index >= 0).toArray();
+        if (indexes.length > 0) {
+            seatMap.release(indexes);
+        }
+    }
+
+    // the map this node is serving for the show, without loading one
+    public Optional<ShowSeatMap> getLoadedSeatMap(String showId) {
+        CompletableFuture<ShowSeatMap> loading = seatMaps.get(showId);
+        return Optional.ofNullable(loading == null ? null : loading.getNow(null));
+    }
+
+    public List<String> normalize(List<String> seatNumbers) {
+        if (seatNumbers == null) {
+            return null;
+        }
+        return seatNumbers.stream().map(seat -> seat == null ? null : seat.trim().toUpperCase()).toList();
+    }
+
+    public void evict(String showId) {
+        seatMaps.remove(showId);
+    }
+
+    // only if it is still the map in use, so a map another thread just rebuilt is kept
+    private void evict(String showId, ShowSeatMap seatMap) {
+        seatMaps.computeIfPresent(showId, (id, loading) -> loading.getNow(null) == seatMap ? null : loading);
+    }
+
+    private ShowSeatMap load(String showId, CompletableFuture<ShowSeatMap> loading) {
+        try {
+            ShowSeatMap seatMap = loadSeatMap(showId);
+            if (seatMap == null) {
+                seatMaps.remove(showId, loading);
+            }
+            loading.complete(seatMap);
+            return seatMap;
+        } catch (RuntimeException e) {
+            seatMaps.remove(showId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private ShowSeatMap loadSeatMap(String showId) {
+        Optional<Show> show = showRepository.findById(showId);
+        if (show.isEmpty() || !show.get().isActive()) {
+            return null;
+        }
+        List<String> bookedSeats = show.get().getBookedSeats();
+        if (bookedSeats == null) {
+            bookedSeats = backfillBookedSeats(showId);
+        }
+        ShowSeatMap seatMap = new ShowSeatMap(show.get().getTotalSeats(), seatsPerRow);
+        for (String seatNumber : bookedSeats) {
+            int index = seatMap.indexOf(seatNumber);
+            if (index >= 0 && !seatMap.isClaimed(index)) {
+                seatMap.claim(new int[] { index });
+            }
+        }
+        return seatMap;
+    }
+
+    // Without bookedSeats every seat would look free to the map and to Mongo's $nin guard.
+    private List<String> backfillBookedSeats(String showId) {
+        LinkedHashSet<String> seats = new LinkedHashSet<>();
+        for (Ticket ticket : ticketRepository.findByShowIdAndBookingStatusIn(showId, TicketBookingService.LIVE_STATUSES)) {
+            List<String> seatNumbers = normalize(ticket.getSeatNumbers());
+            if (seatNumbers != null) {
+                seats.addAll(seatNumbers);
+            }
+        }
+        seats.remove(null);
+        List<String> bookedSeats = new ArrayList<>(seats);
+        if (showRepository.backfillBookedSeats(showId, bookedSeats)) {
+            return bookedSeats;
+        }
+        // another node filled it in first; its list may already include newer claims
+        return showRepository.findById(showId).map(Show::getBookedSeats).orElse(bookedSeats);
+    }
+}
@@ -0,0 +1,306 @@
+package com.quickshow.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Seat occupancy bitmap for a single show. Seat "B7" with 10 seats per row maps to bit 16.
+ * Writers lock the stripes covering the words they touch (always in ascending order), so
+ * claims on different parts of the hall never contend and a multi-seat claim is all-or-nothing.
+ * Readers go straight to the atomic words without locking.
+ *
+ * <p>Every claim or release gets a version number and is kept in a small ring of recent changes,
+ * so a poller can ask for just the seats that changed since the version it last saw.
+ */
+public class ShowSeatMap {
+
+    private static final int STRIPES = 16;
+    private static final int CHANGE_LOG_SIZE = 256;
+    private static final int SNAPSHOT_ATTEMPTS = 16;
+
+    private final int totalSeats;
+    private final int seatsPerRow;
+    private final AtomicLongArray words;
+    private final ReentrantLock[] stripes;
+    private final AtomicInteger claimedSeats = new AtomicInteger();
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    // started runs ahead of completed while a write is in flight
+    private final AtomicLong startedVersion = new AtomicLong();
+    private final AtomicLong completedVersion = new AtomicLong();
+    private final AtomicReferenceArray<Change> changeLog = new AtomicReferenceArray<>(CHANGE_LOG_SIZE);
+    private final AtomicLong lastRecheck = new AtomicLong(System.nanoTime());
+
+    public ShowSeatMap(int totalSeats, int seatsPerRow) {
+        this.totalSeats = totalSeats;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new AtomicLongArray((totalSeats + 63) >>> 6);
+        this.stripes = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public int getTotalSeats() { return totalSeats; }
+    public int getSeatsPerRow() { return seatsPerRow; }
+    public int getClaimedSeats() { return claimedSeats.get(); }
+    public int getAvailableSeats() { return totalSeats - claimedSeats.get(); }
+    public String getEpoch() { return epoch; }
+    public long getVersion() { return completedVersion.get(); }
+
+    /**
+     * True for at most one caller per {@code intervalNanos}, counted from when the map was built,
+     * to rate-limit checking this map against the database it was built from.
+     */
+    public boolean tryRecheck(long intervalNanos) {
+        long now = System.nanoTime();
+        long last = lastRecheck.get();
+        return now - last >= intervalNanos && lastRecheck.compareAndSet(last, now);
+    }
+
+    /**
+     * Resolves seat labels to sorted bit indexes. Returns null if any label is malformed,
+     * outside the hall or repeated, so callers can reject the whole request up front.
+     */
+    public int[] toIndexes(Collection<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            return null;
+        }
+        int[] indexes = new int[seatNumbers.size()];
+        int i = 0;
+        for (String seatNumber : seatNumbers) {
+            int index = indexOf(seatNumber);
+            if (index < 0) {
+                return null;
+            }
+            indexes[i++] = index;
+        }
+        Arrays.sort(indexes);
+        for (int j = 1; j < indexes.length; j++) {
+            if (indexes[j] == indexes[j - 1]) {
+                return null;
+            }
+        }
+        return indexes;
+    }
+
+    public int indexOf(String seatNumber) {
+        if (seatNumber == null) {
+            return -1;
+        }
+        String label = seatNumber.trim().toUpperCase();
+        int split = 0;
+        int row = 0;
+        while (split < label.length() && label.charAt(split) >= 'A' && label.charAt(split) <= 'Z') {
+            row = row * 26 + (label.charAt(split) - 'A' + 1);
+            split++;
+        }
+        if (split == 0 || split == label.length() || label.length() - split > 4) {
+            return -1;
+        }
+        int column = 0;
+        for (int i = split; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            column = column * 10 + (c - '0');
+        }
+        if (column < 1 || column > seatsPerRow) {
+            return -1;
+        }
+        long index = (long) (row - 1) * seatsPerRow + (column - 1);
+        return index < totalSeats ? (int) index : -1;
+    }
+
+    public String labelOf(int index) {
+        return label(index, seatsPerRow);
+    }
+
+    /**
+     * Seat label for a bit index, e.g. 16 is "B7" with 10 seats per row.
+     */
+    public static String label(int index, int seatsPerRow) {
+        int row = index / seatsPerRow + 1;
+        StringBuilder label = new StringBuilder();
+        while (row > 0) {
+            row--;
+            label.insert(0, (char) ('A' + row % 26));
+            row /= 26;
+        }
+        return label.append(index % seatsPerRow + 1).toString();
+    }
+
+    public boolean isClaimed(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Claims every seat or none of them. {@code indexes} must come from {@link #toIndexes}.
+     */
+    public boolean claim(int[] indexes) {
+        int[] lockOrder = stripesFor(indexes);
+        lock(lockOrder);
+        try {
+            for (int i = 0; i < indexes.length; i++) {
+                if (isClaimed(indexes[i])) {
+                    return false;
+                }
+            }
+            long version = startedVersion.incrementAndGet();
+            for (int i = 0; i < indexes.length; i++) {
+                int word = indexes[i] >>> 6;
+                words.set(word, words.get(word) | (1L << indexes[i]));
+            }
+            claimedSeats.addAndGet(indexes.length);
+            complete(new Change(version, true, indexes));
+            return true;
+        } finally {
+            unlock(lockOrder);
+        }
+    }
+
+    /**
+     * Frees the given seats. Seats that are not currently claimed are ignored.
+     */
+    public void release(int[] indexes) {
+        int[] lockOrder = stripesFor(indexes);
+        lock(lockOrder);
+        try {
+            int[] released = new int[indexes.length];
+            int count = 0;
+            for (int i = 0; i < indexes.length; i++) {
+                if (isClaimed(indexes[i])) {
+                    released[count++] = indexes[i];
+                }
+            }
+            if (count == 0) {
+                return;
+            }
+            long version = startedVersion.incrementAndGet();
+            for (int i = 0; i < count; i++) {
+                int word = released[i] >>> 6;
+                words.set(word, words.get(word) & ~(1L << released[i]));
+            }
+            claimedSeats.addAndGet(-count);
+            complete(new Change(version, false, Arrays.copyOf(released, count)));
+        } finally {
+            unlock(lockOrder);
+        }
+    }
+
+    /**
+     * Occupancy as bytes, bit i of the hall in byte i / 8 at position i % 8, together with the
+     * version it reflects. Retries while writes are in flight and falls back to taking every
+     * stripe lock, so the bitmap and the version always agree.
+     */
+    public Snapshot snapshot() {
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            long version = completedVersion.get();
+            if (startedVersion.get() != version) {
+                Thread.onSpinWait();
+                continue;
+            }
+            byte[] bitmap = copyBitmap();
+            if (startedVersion.get() == version) {
+                return new Snapshot(version, bitmap);
+            }
+        }
+        int[] allStripes = new int[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            allStripes[i] = i;
+        }
+        lock(allStripes);
+        try {
+            return new Snapshot(completedVersion.get(), copyBitmap());
+        } finally {
+            unlock(allStripes);
+        }
+    }
+
+    /**
+     * Changes after {@code sinceVersion}, oldest first, or null if they are no longer all in
+     * the change log (or still being written) and the caller needs a full snapshot instead.
+     */
+    public List<Change> changesSince(long sinceVersion) {
+        long version = completedVersion.get();
+        if (sinceVersion > version || version - sinceVersion > CHANGE_LOG_SIZE || startedVersion.get() != version) {
+            return null;
+        }
+        List<Change> changes = new ArrayList<>((int) (version - sinceVersion));
+        for (long v = sinceVersion + 1; v <= version; v++) {
+            Change change = changeLog.get((int) (v % CHANGE_LOG_SIZE));
+            if (change == null || change.version() != v) {
+                return null;
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    private byte[] copyBitmap() {
+        byte[] bitmap = new byte[(totalSeats + 7) >>> 3];
+        for (int w = 0; w < words.length(); w++) {
+            long word = words.get(w);
+            for (int b = 0; b < 8 && (w << 3) + b < bitmap.length; b++) {
+                bitmap[(w << 3) + b] = (byte) (word >>> (b << 3));
+            }
+        }
+        return bitmap;
+    }
+
+    private void complete(Change change) {
+        changeLog.set((int) (change.version() % CHANGE_LOG_SIZE), change);
+        // Writers on other stripes may finish out of order; completed only moves past a version
+        // once every earlier one is done.
+        while (!completedVersion.compareAndSet(change.version() - 1, change.version())) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private int[] stripesFor(int[] indexes) {
+        int[] stripeIds = new int[indexes.length];
+        int count = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            int stripe = (indexes[i] >>> 6) % STRIPES;
+            boolean seen = false;
+            for (int j = 0; j < count; j++) {
+                if (stripeIds[j] == stripe) {
+                    seen = true;
+                    break;
+                }
+            }
+            if (!seen) {
+                stripeIds[count++] = stripe;
+            }
+        }
+        int[] ordered = Arrays.copyOf(stripeIds, count);
+        Arrays.sort(ordered);
+        return ordered;
+    }
+
+    private void lock(int[] lockOrder) {
+        for (int stripe : lockOrder) {
+            stripes[stripe].lock();
+        }
+    }
+
+    private void unlock(int[] lockOrder) {
+        for (int i = lockOrder.length - 1; i >= 0; i--) {
+            stripes[lockOrder[i]].unlock();
+        }
+    }
+
+    public record Snapshot(long version, byte[] bitmap) {
+    }
+
+    public record Change(long version, boolean claimed, int[] indexes) {
+    }
+}
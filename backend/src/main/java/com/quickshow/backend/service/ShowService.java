@@ -1,95 +1,341 @@
 package com.quickshow.backend.service;
 
+import com.quickshow.backend.dto.BulkShowResponse;
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.dto.ShowScheduleTemplate;
+import com.quickshow.backend.model.Screen;
 import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
 import com.quickshow.backend.repository.ShowRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ShowService {
 
+    private static final Logger log = LoggerFactory.getLogger(ShowService.class);
+
     @Autowired
     private ShowRepository showRepository;
 
-    public List<Show> getAllShows() {
-        return showRepository.findByIsActiveTrue();
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${quickshow.booking.seat-claim-mode:atomic}")
+    private String seatClaimMode;
+
+    @Value("${quickshow.booking.max-claim-retries:5}")
+    private int maxClaimRetries;
+
+    @Value("${quickshow.showtimes.lookback-days:1}")
+    private int showtimeLookbackDays;
+
+    @Value("${quickshow.showtimes.max-per-day:1000}")
+    private int maxShowsPerDay;
+
+    @Value("${quickshow.shows.max-bulk-size:5000}")
+    private int maxBulkSize;
+
+    private final ShowtimeIndex showtimeIndex = new ShowtimeIndex();
+
+    public CursorPage<Show> getAllShows(String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(showRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Show::getId);
     }
 
     public Optional<Show> getShowById(String id) {
         return showRepository.findById(id);
     }
 
-    public List<Show> getShowsByMovie(String movieId) {
-        return showRepository.findByMovieIdAndIsActiveTrue(movieId);
+    public CursorPage<Show> getShowsByMovie(String movieId, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(showRepository.findByMovieIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                movieId, CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Show::getId);
     }
 
-    public List<Show> getShowsByTheater(String theaterId) {
-        return showRepository.findByTheaterIdAndIsActiveTrue(theaterId);
+    public CursorPage<Show> getShowsByTheater(String theaterId, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(showRepository.findByTheaterIdAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                theaterId, CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Show::getId);
     }
 
     public List<Show> getShowsByMovieAndDate(String movieId, LocalDate showDate) {
-        return showRepository.findByMovieIdAndShowDateAndIsActiveTrue(movieId, showDate);
+        return showtimeIndex.findByMovieAndDate(movieId, showDate)
+                .orElseGet(() -> capped(showRepository.findByMovieIdAndShowDateAndIsActiveTrue(
+                        movieId, showDate, Limit.of(maxShowsPerDay + 1)), "movie " + movieId, showDate));
     }
 
     public List<Show> getShowsByTheaterAndDate(String theaterId, LocalDate showDate) {
-        return showRepository.findByTheaterIdAndShowDateAndIsActiveTrue(theaterId, showDate);
+        return showtimeIndex.findByTheaterAndDate(theaterId, showDate)
+                .orElseGet(() -> capped(showRepository.findByTheaterIdAndShowDateAndIsActiveTrue(
+                        theaterId, showDate, Limit.of(maxShowsPerDay + 1)), "theater " + theaterId, showDate));
+    }
+
+    // A day's listing is paged in memory in show-time order, so a Mongo read past the index
+    // (cold start, past dates) is capped rather than loading an unbounded day.
+    private List<Show> capped(List<Show> shows, String owner, LocalDate showDate) {
+        if (shows.size() <= maxShowsPerDay) {
+            return shows;
+        }
+        log.warn("More than {} shows for {} on {}; listing only {} of them", maxShowsPerDay, owner, showDate, maxShowsPerDay);
+        return shows.subList(0, maxShowsPerDay);
     }
 
     public Show createShow(Show show) {
+        show.setAvailableSeats(show.getTotalSeats());
+        show.setBookedSeats(new ArrayList<>());
+        show.setSeatVersion(0);
         show.setCreatedAt(LocalDateTime.now());
         show.setUpdatedAt(LocalDateTime.now());
         show.setActive(true);
-        return showRepository.save(show);
+        Show savedShow;
+        try {
+            savedShow = showRepository.save(show);
+        } catch (DuplicateKeyException e) {
+            return null; // that screen already has an active show at that time
+        }
+        showtimeIndex.upsert(savedShow);
+        return savedShow;
+    }
+
+    public int getMaxBulkSize() {
+        return maxBulkSize;
+    }
+
+    /**
+     * Validates every row, then writes the valid ones in one unordered bulk insert so a bad or
+     * clashing row does not stop the rest. The response lists an outcome per input row.
+     */
+    public BulkShowResponse createShows(List<Show> shows) {
+        List<BulkShowResponse.Row> rows = new ArrayList<>(shows.size());
+        List<Show> valid = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Set<String> slots = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < shows.size(); i++) {
+            Show show = shows.get(i);
+            String problem = validate(show);
+            if (problem != null) {
+                rows.add(new BulkShowResponse.Row(i, "INVALID", null, problem));
+                continue;
+            }
+            if (!slots.add(show.getTheaterId() + '|' + show.getScreenNumber() + '|' + show.getShowDate() + '|' + show.getShowTime())) {
+                rows.add(new BulkShowResponse.Row(i, "DUPLICATE", null, "Same screen and time as an earlier row"));
+                continue;
+            }
+            show.setId(new ObjectId().toHexString());
+            show.setAvailableSeats(show.getTotalSeats());
+            show.setBookedSeats(new ArrayList<>());
+            show.setSeatVersion(0);
+            show.setActive(true);
+            show.setCreatedAt(now);
+            show.setUpdatedAt(now);
+            rows.add(new BulkShowResponse.Row(i, "CREATED", show.getId(), null));
+            valid.add(show);
+            positions.add(i);
+        }
+
+        Map<Integer, String> failures = showRepository.insertUnordered(valid);
+        for (int i = 0; i < valid.size(); i++) {
+            String failure = failures.get(i);
+            if (failure == null) {
+                showtimeIndex.upsert(valid.get(i));
+            } else {
+                BulkShowResponse.Row row = rows.get(positions.get(i));
+                row.setId(null);
+                if ("DUPLICATE".equals(failure)) {
+                    row.setStatus("DUPLICATE");
+                    row.setMessage("That screen already has a show at that time");
+                } else {
+                    row.setStatus("FAILED");
+                    row.setMessage(failure);
+                }
+            }
+        }
+        int created = valid.size() - failures.size();
+        log.info("Bulk show insert: {} created, {} rejected", created, shows.size() - created);
+        return new BulkShowResponse(created, shows.size() - created, rows);
+    }
+
+    /**
+     * Expands a schedule template into one show per screen, date and time. Returns null if the
+     * theater does not exist.
+     */
+    public List<Show> expandTemplate(ShowScheduleTemplate template) {
+        Optional<Theater> theater = template.getTheaterId() == null ? Optional.empty()
+                : theaterService.getTheaterById(template.getTheaterId());
+        if (theater.isEmpty() || template.getScreenNumbers() == null
+                || template.getShowDates() == null || template.getShowTimes() == null) {
+            return null;
+        }
+        Map<String, Screen> screens = new HashMap<>();
+        if (theater.get().getScreens() != null) {
+            theater.get().getScreens().forEach(screen -> screens.put(screen.getScreenNumber(), screen));
+        }
+        List<Show> shows = new ArrayList<>();
+        for (LocalDate date : template.getShowDates()) {
+            for (String screenNumber : template.getScreenNumbers()) {
+                Screen screen = screens.get(screenNumber);
+                for (LocalTime time : template.getShowTimes()) {
+                    Show show = new Show();
+                    show.setMovieId(template.getMovieId());
+                    show.setTheaterId(template.getTheaterId());
+                    show.setScreenNumber(screenNumber);
+                    show.setShowDate(date);
+                    show.setShowTime(time);
+                    show.setTicketPrice(template.getTicketPrice());
+                    show.setTotalSeats(template.getTotalSeats() != null ? template.getTotalSeats()
+                            : screen != null ? screen.getTotalSeats() : 0);
+                    show.setShowType(template.getShowType() != null ? template.getShowType()
+                            : screen != null ? screen.getScreenType() : null);
+                    shows.add(show);
+                }
+            }
+        }
+        return shows;
     }
 
     public Show updateShow(String id, Show showDetails) {
-        Optional<Show> show = showRepository.findById(id);
-        if (show.isPresent()) {
-            Show existingShow = show.get();
-            existingShow.setMovieId(showDetails.getMovieId());
-            existingShow.setTheaterId(showDetails.getTheaterId());
-            existingShow.setScreenNumber(showDetails.getScreenNumber());
-            existingShow.setShowDate(showDetails.getShowDate());
-            existingShow.setShowTime(showDetails.getShowTime());
-            existingShow.setTicketPrice(showDetails.getTicketPrice());
-            existingShow.setTotalSeats(showDetails.getTotalSeats());
-            existingShow.setAvailableSeats(showDetails.getAvailableSeats());
-            existingShow.setShowType(showDetails.getShowType());
-            existingShow.setUpdatedAt(LocalDateTime.now());
-            return showRepository.save(existingShow);
+        Show updatedShow;
+        try {
+            updatedShow = showRepository.updateDetails(id, showDetails);
+        } catch (DuplicateKeyException e) {
+            return null; // moved onto a screen that already has an active show at that time
         }
-        return null;
+        if (updatedShow != null) {
+            seatInventoryService.evict(id);
+            showtimeIndex.upsert(updatedShow);
+        }
+        return updatedShow;
     }
 
     public boolean deleteShow(String id) {
-        Optional<Show> show = showRepository.findById(id);
-        if (show.isPresent()) {
-            Show existingShow = show.get();
-            existingShow.setActive(false);
-            existingShow.setUpdatedAt(LocalDateTime.now());
-            showRepository.save(existingShow);
+        if (showRepository.deactivate(id)) {
+            seatInventoryService.evict(id);
+            showtimeIndex.remove(id);
             return true;
         }
         return false;
     }
 
     public boolean updateAvailableSeats(String showId, int seatsBooked) {
-        Optional<Show> show = showRepository.findById(showId);
-        if (show.isPresent()) {
-            Show existingShow = show.get();
-            int newAvailableSeats = existingShow.getAvailableSeats() - seatsBooked;
-            if (newAvailableSeats >= 0) {
-                existingShow.setAvailableSeats(newAvailableSeats);
-                existingShow.setUpdatedAt(LocalDateTime.now());
-                showRepository.save(existingShow);
+        if (showRepository.adjustAvailableSeats(showId, seatsBooked)) {
+            showtimeIndex.adjustAvailableSeats(showId, -seatsBooked);
+            return true;
+        }
+        bookingMetrics.seatCountUpdateFailed();
+        return false;
+    }
+
+    public boolean claimSeats(String showId, List<String> seatNumbers) {
+        boolean claimed = "optimistic".equalsIgnoreCase(seatClaimMode)
+                ? claimSeatsOptimistically(showId, seatNumbers)
+                : showRepository.claimSeats(showId, seatNumbers);
+        if (claimed) {
+            showtimeIndex.adjustAvailableSeats(showId, -seatNumbers.size());
+        }
+        return claimed;
+    }
+
+    public boolean releaseSeats(String showId, List<String> seatNumbers) {
+        if (showRepository.releaseSeats(showId, seatNumbers)) {
+            showtimeIndex.adjustAvailableSeats(showId, seatNumbers.size());
+            return true;
+        }
+        bookingMetrics.seatReleaseFailed();
+        return false;
+    }
+
+    /**
+     * Reloads the showtime index from Mongo. Runs at startup and then periodically, which also
+     * picks up shows written by other replicas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${quickshow.showtimes.refresh-millis:60000}",
+            fixedDelayString = "${quickshow.showtimes.refresh-millis:60000}")
+    public void rebuildShowtimeIndex() {
+        LocalDate loadedFrom = LocalDate.now().minusDays(showtimeLookbackDays);
+        showtimeIndex.beginRebuild();
+        List<Show> shows = showRepository.findByShowDateGreaterThanEqualAndIsActiveTrue(loadedFrom);
+        Set<String> touched = new HashSet<>(showtimeIndex.finishRebuild(shows, loadedFrom));
+        if (!touched.isEmpty()) {
+            for (Show show : showRepository.findAllById(touched)) {
+                showtimeIndex.upsert(show);
+                touched.remove(show.getId());
+            }
+            touched.forEach(showtimeIndex::remove);
+        }
+        log.debug("Showtime index holds {} shows from {}", showtimeIndex.size(), loadedFrom);
+    }
+
+    private static String validate(Show show) {
+        if (show == null) {
+            return "Empty row";
+        }
+        if (show.getMovieId() == null || show.getMovieId().isBlank()) {
+            return "movieId is required";
+        }
+        if (show.getTheaterId() == null || show.getTheaterId().isBlank()) {
+            return "theaterId is required";
+        }
+        if (show.getScreenNumber() == null || show.getScreenNumber().isBlank()) {
+            return "screenNumber is required";
+        }
+        if (show.getShowDate() == null || show.getShowTime() == null) {
+            return "showDate and showTime are required";
+        }
+        if (show.getTotalSeats() <= 0) {
+            return "totalSeats must be positive";
+        }
+        if (show.getTicketPrice() == null || show.getTicketPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "ticketPrice must be zero or more";
+        }
+        return null;
+    }
+
+    private boolean claimSeatsOptimistically(String showId, List<String> seatNumbers) {
+        for (int attempt = 0; attempt <= maxClaimRetries; attempt++) {
+            Optional<Show> show = showRepository.findById(showId);
+            if (show.isEmpty() || !show.get().isActive()
+                    || show.get().getAvailableSeats() < seatNumbers.size()) {
+                return false;
+            }
+            List<String> bookedSeats = show.get().getBookedSeats();
+            if (bookedSeats != null && seatNumbers.stream().anyMatch(bookedSeats::contains)) {
+                return false;
+            }
+            if (showRepository.claimSeats(showId, seatNumbers, show.get().getSeatVersion())) {
                 return true;
             }
         }
         return false;
     }
-} 
\ No newline at end of file
+}
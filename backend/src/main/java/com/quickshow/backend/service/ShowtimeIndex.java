@@ -0,0 +1,229 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.model.Show;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-memory showtimes per (movieId, date) and (theaterId, date), each kept as an immutable array
+ * sorted by show time. Readers never lock; schedule changes replace the affected arrays under
+ * the index monitor. Seat counts change on every booking, so they are kept apart in a counter
+ * per show and never touch the arrays or the monitor; a reader gets a copy of an entry only if
+ * its count has moved since the entry was written.
+ *
+ * <p>Only active shows dated on or after {@code loadedFrom} are indexed; lookups outside that
+ * window, or before the first load, return empty so the caller falls back to Mongo.
+ */
+public class ShowtimeIndex {
+
+    static final Comparator<Show> BY_TIME = Comparator
+            .comparing(Show::getShowTime, Comparator.nullsLast(Comparator.<LocalTime>naturalOrder()))
+            .thenComparing(Show::getId);
+
+    private volatile State state;
+    private volatile Set<String> touchedDuringRebuild;
+
+    public boolean isWarm() {
+        return state != null;
+    }
+
+    public int size() {
+        State current = state;
+        return current == null ? 0 : current.showsById.size();
+    }
+
+    public Optional<List<Show>> findByMovieAndDate(String movieId, LocalDate date) {
+        return find(current -> current.byMovieDate, movieId, date);
+    }
+
+    public Optional<List<Show>> findByTheaterAndDate(String theaterId, LocalDate date) {
+        return find(current -> current.byTheaterDate, theaterId, date);
+    }
+
+    /**
+     * Starts a rebuild. Until {@link #finishRebuild} runs, the ids of shows written through the
+     * index are remembered, because the new snapshot may have been read before those writes.
+     */
+    public synchronized void beginRebuild() {
+        touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Swaps in a snapshot built from {@code shows} and returns the ids that changed meanwhile;
+     * the caller should re-read those and {@link #upsert} or {@link #remove} them.
+     */
+    public Set<String> finishRebuild(Collection<Show> shows, LocalDate loadedFrom) {
+        State next = new State(loadedFrom);
+        Map<String, List<Show>> movieGroups = new HashMap<>();
+        Map<String, List<Show>> theaterGroups = new HashMap<>();
+        for (Show show : shows) {
+            if (!indexable(show, loadedFrom)) {
+                continue;
+            }
+            Show entry = copyOf(show);
+            next.showsById.put(entry.getId(), entry);
+            next.availableSeats.put(entry.getId(), new AtomicInteger(entry.getAvailableSeats()));
+            movieGroups.computeIfAbsent(key(entry.getMovieId(), entry.getShowDate()), k -> new ArrayList<>()).add(entry);
+            theaterGroups.computeIfAbsent(key(entry.getTheaterId(), entry.getShowDate()), k -> new ArrayList<>()).add(entry);
+        }
+        movieGroups.forEach((key, group) -> next.byMovieDate.put(key, sorted(group.toArray(new Show[0]))));
+        theaterGroups.forEach((key, group) -> next.byTheaterDate.put(key, sorted(group.toArray(new Show[0]))));
+
+        synchronized (this) {
+            Set<String> touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+            state = next;
+            return touched == null ? Set.of() : touched;
+        }
+    }
+
+    public synchronized void upsert(Show show) {
+        touch(show.getId());
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        removeEntry(current, show.getId());
+        if (indexable(show, current.loadedFrom)) {
+            addEntry(current, copyOf(show));
+        } else {
+            current.availableSeats.remove(show.getId());
+        }
+    }
+
+    public synchronized void remove(String showId) {
+        touch(showId);
+        State current = state;
+        if (current != null) {
+            removeEntry(current, showId);
+            current.availableSeats.remove(showId);
+        }
+    }
+
+    // Lock-free: seat claims on different shows never wait on each other or on schedule changes.
+    public void adjustAvailableSeats(String showId, int delta) {
+        touch(showId);
+        State current = state;
+        if (current == null) {
+            return;
+        }
+        AtomicInteger availableSeats = current.availableSeats.get(showId);
+        if (availableSeats != null) {
+            availableSeats.addAndGet(delta);
+        }
+    }
+
+    private Optional<List<Show>> find(Function<State, Map<String, Show[]>> index, String id, LocalDate date) {
+        State current = state;
+        if (current == null || date == null || date.isBefore(current.loadedFrom)) {
+            return Optional.empty();
+        }
+        Show[] shows = index.apply(current).get(key(id, date));
+        if (shows == null) {
+            return Optional.of(List.of());
+        }
+        Show[] live = shows;
+        for (int i = 0; i < shows.length; i++) {
+            AtomicInteger availableSeats = current.availableSeats.get(shows[i].getId());
+            if (availableSeats != null && availableSeats.get() != shows[i].getAvailableSeats()) {
+                if (live == shows) {
+                    live = shows.clone();
+                }
+                live[i] = copyOf(shows[i]);
+                live[i].setAvailableSeats(availableSeats.get());
+            }
+        }
+        return Optional.of(List.of(live));
+    }
+
+    private void touch(String showId) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.add(showId);
+        }
+    }
+
+    private void addEntry(State current, Show entry) {
+        current.showsById.put(entry.getId(), entry);
+        // the document just written carries the latest count; reuse the counter so a concurrent claim is not lost
+        current.availableSeats.computeIfAbsent(entry.getId(), id -> new AtomicInteger()).set(entry.getAvailableSeats());
+        current.byMovieDate.merge(key(entry.getMovieId(), entry.getShowDate()), new Show[] { entry }, ShowtimeIndex::merge);
+        current.byTheaterDate.merge(key(entry.getTheaterId(), entry.getShowDate()), new Show[] { entry }, ShowtimeIndex::merge);
+    }
+
+    private void removeEntry(State current, String showId) {
+        Show existing = current.showsById.remove(showId);
+        if (existing != null) {
+            current.byMovieDate.computeIfPresent(key(existing.getMovieId(), existing.getShowDate()), (k, shows) -> without(shows, showId));
+            current.byTheaterDate.computeIfPresent(key(existing.getTheaterId(), existing.getShowDate()), (k, shows) -> without(shows, showId));
+        }
+    }
+
+    private static Show[] merge(Show[] existing, Show[] added) {
+        Show[] merged = Arrays.copyOf(existing, existing.length + added.length);
+        System.arraycopy(added, 0, merged, existing.length, added.length);
+        return sorted(merged);
+    }
+
+    private static Show[] without(Show[] shows, String showId) {
+        Show[] remaining = Arrays.stream(shows).filter(show -> !show.getId().equals(showId)).toArray(Show[]::new);
+        return remaining.length == 0 ? null : remaining;
+    }
+
+    private static Show[] sorted(Show[] shows) {
+        Arrays.sort(shows, BY_TIME);
+        return shows;
+    }
+
+    private static boolean indexable(Show show, LocalDate loadedFrom) {
+        return show.isActive() && show.getId() != null && show.getShowDate() != null
+                && !show.getShowDate().isBefore(loadedFrom);
+    }
+
+    private static String key(String id, LocalDate date) {
+        return id + '|' + date;
+    }
+
+    private static Show copyOf(Show show) {
+        Show copy = new Show();
+        copy.setId(show.getId());
+        copy.setMovieId(show.getMovieId());
+        copy.setTheaterId(show.getTheaterId());
+        copy.setScreenNumber(show.getScreenNumber());
+        copy.setShowDate(show.getShowDate());
+        copy.setShowTime(show.getShowTime());
+        copy.setTicketPrice(show.getTicketPrice());
+        copy.setTotalSeats(show.getTotalSeats());
+        copy.setAvailableSeats(show.getAvailableSeats());
+        copy.setShowType(show.getShowType());
+        copy.setActive(show.isActive());
+        copy.setSeatVersion(show.getSeatVersion());
+        copy.setCreatedAt(show.getCreatedAt());
+        copy.setUpdatedAt(show.getUpdatedAt());
+        return copy;
+    }
+
+    private static final class State {
+        private final LocalDate loadedFrom;
+        private final ConcurrentHashMap<String, Show> showsById = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Show[]> byMovieDate = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Show[]> byTheaterDate = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, AtomicInteger> availableSeats = new ConcurrentHashMap<>();
+
+        private State(LocalDate loadedFrom) {
+            this.loadedFrom = loadedFrom;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.dto.ShowtimeListing;
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Screen;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Theater;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Joins a day's shows for a movie with their theaters and the movie itself, so a showtime picker
+ * needs one request instead of one per theater. The join runs here against the showtime index
+ * and the catalog caches rather than as a $lookup: all three are usually in memory already, and
+ * the aggregation would bypass them.
+ */
+@Service
+public class ShowtimeListingService {
+
+    private static final FieldSelection.Fields<Movie> MOVIE_SUMMARY = FieldSelection.MOVIES.parse("summary");
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private TheaterService theaterService;
+
+    @Autowired
+    private MovieService movieService;
+
+    /**
+     * Theaters are ordered by name and paged; each lists its shows by start time. With
+     * {@code city}, only theaters in that city are included. Empty if the movie does not exist.
+     */
+    public Optional<ShowtimeListing> getListing(String movieId, LocalDate showDate, String city, String after, int limit) {
+        Optional<Movie> movie = movieService.getMovieById(movieId);
+        if (movie.isEmpty()) {
+            return Optional.empty();
+        }
+        // only the theaters showing the movie that day, each from the per-id cache
+        Map<String, Optional<Theater>> theaters = new HashMap<>();
+        Map<String, ShowtimeListing.TheaterShowtimes> groups = new LinkedHashMap<>();
+        List<Show> shows = new ArrayList<>(showService.getShowsByMovieAndDate(movieId, showDate));
+        shows.sort(ShowtimeIndex.BY_TIME);
+        for (Show show : shows) {
+            if (show.getTheaterId() == null) {
+                continue;
+            }
+            Theater theater = theaters.computeIfAbsent(show.getTheaterId(), theaterService::getTheaterById).orElse(null);
+            if (theater == null || (city != null && (!theater.isActive() || !city.equals(theater.getCity())))) {
+                continue;
+            }
+            Theater owner = theater;
+            groups.computeIfAbsent(owner.getId(), id -> new ShowtimeListing.TheaterShowtimes(
+                    id, owner.getName(), owner.getAddress(), owner.getCity(), new ArrayList<>()))
+                    .getShows().add(showtime(show, owner));
+        }
+
+        CursorPage<ShowtimeListing.TheaterShowtimes> page = CursorPage.slice(
+                new ArrayList<>(groups.values()), after, limit, ShowtimeListingService::theaterCursor);
+        return Optional.of(new ShowtimeListing(MOVIE_SUMMARY.apply(movie.get()), showDate,
+                page.getItems(), page.getNextCursor(), page.isHasMore()));
+    }
+
+    private static ShowtimeListing.Showtime showtime(Show show, Theater theater) {
+        Screen screen = null;
+        if (theater.getScreens() != null) {
+            for (Screen candidate : theater.getScreens()) {
+                if (candidate.getScreenNumber() != null && candidate.getScreenNumber().equals(show.getScreenNumber())) {
+                    screen = candidate;
+                    break;
+                }
+            }
+        }
+        return new ShowtimeListing.Showtime(show.getId(), show.getShowTime(), show.getScreenNumber(),
+                screen == null ? null : screen.getScreenType(),
+                screen == null ? null : screen.getFeatures(),
+                show.getShowType(), show.getTicketPrice(), show.getAvailableSeats(), show.getTotalSeats());
+    }
+
+    // by name, then id so theaters with the same name keep a stable order
+    private static String theaterCursor(ShowtimeListing.TheaterShowtimes theater) {
+        return (theater.getName() == null ? "" : theater.getName()) + '|' + theater.getTheaterId();
+    }
+}
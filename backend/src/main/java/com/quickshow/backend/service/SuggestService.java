@@ -0,0 +1,168 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.dto.Suggestion;
+import com.quickshow.backend.model.Movie;
+import com.quickshow.backend.model.Theater;
+import com.quickshow.backend.repository.MovieRepository;
+import com.quickshow.backend.repository.TheaterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typeahead over movie titles, directors, cast, theater names and cities. Lookups hit an
+ * immutable {@link SuggestionTrie}; catalog writes only mark it dirty and it is rebuilt off the
+ * request path. Popularity is a movie's rating plus the seats this instance has sold for it,
+ * and for theaters the seats sold there.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Value("${quickshow.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${quickshow.suggest.max-key-length:40}")
+    private int maxKeyLength;
+
+    @Value("${quickshow.suggest.refresh-millis:60000}")
+    private long refreshMillis;
+
+    private final ConcurrentHashMap<String, LongAdder> seatsSold = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    // not synchronized: the rebuild reads Mongo and may run on a virtual thread
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile SuggestionTrie trie;
+    private volatile long builtAt;
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        SuggestionTrie current = trie;
+        if (current == null) {
+            return List.of();
+        }
+        String normalized = normalize(prefix);
+        if (normalized.length() > maxKeyLength) {
+            normalized = normalized.substring(0, maxKeyLength);
+        }
+        return current.complete(normalized, Math.min(limit, topK)).stream()
+                .map(match -> new Suggestion(match.text(), match.type(), match.id()))
+                .toList();
+    }
+
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    public void recordBooking(String movieId, String theaterId, int seats) {
+        if (movieId != null) {
+            seatsSold.computeIfAbsent(movieId, id -> new LongAdder()).add(seats);
+        }
+        if (theaterId != null) {
+            seatsSold.computeIfAbsent(theaterId, id -> new LongAdder()).add(seats);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quickshow.suggest.rebuild-millis:2000}")
+    public void rebuildIfStale() {
+        if (dirty.getAndSet(false) || System.currentTimeMillis() - builtAt >= refreshMillis) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            build();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void build() {
+        builtAt = System.currentTimeMillis();
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder(topK, maxKeyLength);
+        Map<String, Long> people = new HashMap<>();
+        Map<String, String> peopleTypes = new HashMap<>();
+        Map<String, String> peopleNames = new LinkedHashMap<>();
+        for (Movie movie : movieRepository.findByIsActiveTrue()) {
+            long weight = Math.round(movie.getRatingScore() * 10) + sold(movie.getId());
+            builder.add(movie.getTitle(), normalize(movie.getTitle()), "movie", movie.getId(), weight);
+            addPerson(people, peopleTypes, peopleNames, movie.getDirector(), "director", weight);
+            if (movie.getCast() != null) {
+                movie.getCast().forEach(member -> addPerson(people, peopleTypes, peopleNames, member, "cast", weight));
+            }
+        }
+        people.forEach((key, weight) -> builder.add(peopleNames.get(key), key, peopleTypes.get(key), null, weight));
+
+        Map<String, Long> cities = new HashMap<>();
+        Map<String, String> cityNames = new HashMap<>();
+        for (Theater theater : theaterRepository.findByIsActiveTrue()) {
+            long weight = 10 + sold(theater.getId());
+            builder.add(theater.getName(), normalize(theater.getName()), "theater", theater.getId(), weight);
+            String city = normalize(theater.getCity());
+            if (!city.isEmpty()) {
+                cities.merge(city, weight, Long::sum);
+                cityNames.putIfAbsent(city, theater.getCity().trim());
+            }
+        }
+        cities.forEach((key, weight) -> builder.add(cityNames.get(key), key, "city", null, weight));
+
+        SuggestionTrie built = builder.build();
+        trie = built;
+        log.debug("Suggestion trie rebuilt: {} entries, {} nodes, {} bytes",
+                built.getEntryCount(), built.getNodeCount(), built.getStructureBytes());
+    }
+
+    public Map<String, Object> getStats() {
+        SuggestionTrie current = trie;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", current == null ? 0 : current.getEntryCount());
+        stats.put("nodes", current == null ? 0 : current.getNodeCount());
+        stats.put("structureBytes", current == null ? 0 : current.getStructureBytes());
+        stats.put("builtAt", builtAt);
+        return stats;
+    }
+
+    private void addPerson(Map<String, Long> people, Map<String, String> types, Map<String, String> names,
+                           String name, String type, long weight) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return;
+        }
+        people.merge(key, weight, Long::sum);
+        // someone who directs and acts is listed once, as a director
+        types.merge(key, type, (existing, added) -> "director".equals(existing) ? existing : added);
+        names.putIfAbsent(key, name.trim());
+    }
+
+    private long sold(String id) {
+        LongAdder adder = id == null ? null : seatsSold.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", MovieSearchIndex.tokenize(text));
+    }
+}
@@ -0,0 +1,252 @@
+package com.quickshow.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie flattened into parallel arrays. Children of a node sit next to each other
+ * sorted by character, so a step is a binary search over a short slice. Nodes with more than
+ * {@code topK} completions below them keep their best {@code topK} precomputed; smaller subtrees
+ * are just walked, which keeps the precomputed lists to the top few levels.
+ *
+ * <p>Every entry is reachable from the start of each of its words, so "kni" completes
+ * "The Dark Knight".
+ */
+public class SuggestionTrie {
+
+    private final int topK;
+    // entries
+    private final String[] texts;
+    private final String[] types;
+    private final String[] ids;
+    private final long[] weights;
+    // nodes, in breadth-first order; node 0 is the root
+    private final char[] labels;
+    private final int[] firstChild;
+    private final char[] childCount;
+    private final int[] terminalStart;
+    private final int[] terminals;
+    private final int[] topStart;
+    private final int[] top;
+
+    private SuggestionTrie(int topK, String[] texts, String[] types, String[] ids, long[] weights,
+                           char[] labels, int[] firstChild, char[] childCount, int[] terminalStart, int[] terminals,
+                           int[] topStart, int[] top) {
+        this.topK = topK;
+        this.texts = texts;
+        this.types = types;
+        this.ids = ids;
+        this.weights = weights;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.terminalStart = terminalStart;
+        this.terminals = terminals;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    public int getEntryCount() { return texts.length; }
+    public int getNodeCount() { return labels.length; }
+
+    /**
+     * Bytes held by the trie arrays, not counting the entry strings they point at.
+     */
+    public long getStructureBytes() {
+        return labels.length * 2L + firstChild.length * 4L + childCount.length * 2L
+                + (terminalStart.length + terminals.length + topStart.length + top.length) * 4L
+                + weights.length * 8L + (texts.length + types.length + ids.length) * 4L;
+    }
+
+    public List<Match> complete(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        if (node < 0) {
+            return List.of();
+        }
+        int[] best;
+        if (topStart[node] != topStart[node + 1]) {
+            best = Arrays.copyOfRange(top, topStart[node], topStart[node + 1]);
+        } else {
+            best = collect(node, new BitSet(texts.length), new ArrayList<>());
+        }
+        List<Match> matches = new ArrayList<>(Math.min(limit, best.length));
+        for (int i = 0; i < best.length && i < limit; i++) {
+            int entry = best[i];
+            matches.add(new Match(texts[entry], types[entry], ids[entry], weights[entry]));
+        }
+        return matches;
+    }
+
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < c) {
+                low = mid + 1;
+            } else if (labels[mid] > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int[] collect(int node, BitSet seen, List<Integer> into) {
+        gather(node, seen, into);
+        return into.stream()
+                .sorted((a, b) -> Long.compare(weights[b], weights[a]))
+                .limit(topK)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private void gather(int node, BitSet seen, List<Integer> into) {
+        for (int i = terminalStart[node]; i < terminalStart[node + 1]; i++) {
+            if (!seen.get(terminals[i])) {
+                seen.set(terminals[i]);
+                into.add(terminals[i]);
+            }
+        }
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            gather(c, seen, into);
+        }
+    }
+
+    public record Match(String text, String type, String id, long weight) {
+    }
+
+    public static class Builder {
+        private final int topK;
+        private final int maxKeyLength;
+        private final List<String> texts = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+        private final List<String> ids = new ArrayList<>();
+        private final List<Long> weights = new ArrayList<>();
+        private final BuildNode root = new BuildNode();
+        private int nodeCount = 1;
+
+        public Builder(int topK, int maxKeyLength) {
+            this.topK = topK;
+            this.maxKeyLength = maxKeyLength;
+        }
+
+        /**
+         * Adds an entry reachable from the start of every word in {@code normalizedText}.
+         */
+        public Builder add(String text, String normalizedText, String type, String id, long weight) {
+            if (normalizedText == null || normalizedText.isBlank()) {
+                return this;
+            }
+            int entry = texts.size();
+            texts.add(text);
+            types.add(type);
+            ids.add(id);
+            weights.add(weight);
+            for (int start = 0; start < normalizedText.length(); start++) {
+                if (normalizedText.charAt(start) != ' ' && (start == 0 || normalizedText.charAt(start - 1) == ' ')) {
+                    insert(normalizedText.substring(start, Math.min(normalizedText.length(), start + maxKeyLength)), entry);
+                }
+            }
+            return this;
+        }
+
+        private void insert(String key, int entry) {
+            BuildNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                BuildNode next = node.children.get(key.charAt(i));
+                if (next == null) {
+                    next = new BuildNode();
+                    node.children.put(key.charAt(i), next);
+                    nodeCount++;
+                }
+                node = next;
+            }
+            if (!node.terminals.contains(entry)) {
+                node.terminals.add(entry);
+            }
+        }
+
+        public SuggestionTrie build() {
+            long[] entryWeights = weights.stream().mapToLong(Long::longValue).toArray();
+            char[] labels = new char[nodeCount];
+            int[] firstChild = new int[nodeCount];
+            char[] childCount = new char[nodeCount];
+            int[] terminalStart = new int[nodeCount + 1];
+            int[] topStart = new int[nodeCount + 1];
+            List<Integer> terminals = new ArrayList<>();
+            List<Integer> top = new ArrayList<>();
+
+            BuildNode[] order = new BuildNode[nodeCount];
+            order[0] = root;
+            int tail = 1;
+            for (int head = 0; head < nodeCount; head++) {
+                BuildNode node = order[head];
+                firstChild[head] = tail;
+                childCount[head] = (char) node.children.size();
+                for (Map.Entry<Character, BuildNode> child : node.children.entrySet()) {
+                    labels[tail] = child.getKey();
+                    order[tail++] = child.getValue();
+                }
+            }
+            for (int i = nodeCount - 1; i >= 0; i--) {
+                rank(order[i], entryWeights);
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                terminalStart[i] = terminals.size();
+                terminals.addAll(order[i].terminals);
+                topStart[i] = top.size();
+                if (order[i].subtreeSize > topK) {
+                    for (int entry : order[i].best) {
+                        top.add(entry);
+                    }
+                }
+            }
+            terminalStart[nodeCount] = terminals.size();
+            topStart[nodeCount] = top.size();
+
+            return new SuggestionTrie(topK, texts.toArray(new String[0]), types.toArray(new String[0]),
+                    ids.toArray(new String[0]), entryWeights, labels, firstChild, childCount, terminalStart,
+                    terminals.stream().mapToInt(Integer::intValue).toArray(), topStart,
+                    top.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        private void rank(BuildNode node, long[] entryWeights) {
+            // children are ranked first (reverse breadth-first order), so merging their lists is enough
+            List<Integer> candidates = new ArrayList<>(node.terminals);
+            int size = node.terminals.size();
+            for (BuildNode child : node.children.values()) {
+                for (int entry : child.best) {
+                    if (!candidates.contains(entry)) {
+                        candidates.add(entry);
+                    }
+                }
+                size += child.subtreeSize;
+            }
+            node.subtreeSize = size;
+            node.best = candidates.stream()
+                    .sorted((a, b) -> Long.compare(entryWeights[b], entryWeights[a]))
+                    .limit(topK)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private final List<Integer> terminals = new ArrayList<>(1);
+        private int[] best;
+        private int subtreeSize;
+    }
+}
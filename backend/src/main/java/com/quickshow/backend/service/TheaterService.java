@@ -1,8 +1,11 @@
 package com.quickshow.backend.service;
 
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.Theater;
 import com.quickshow.backend.repository.TheaterRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -12,26 +15,59 @@ import java.util.Optional;
 @Service
 public class TheaterService {
 
+    static final String ACTIVE = "active";
+    static final String CITY = "city:";
+
     @Autowired
     private TheaterRepository theaterRepository;
 
-    public List<Theater> getAllTheaters() {
-        return theaterRepository.findByIsActiveTrue();
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    private ReadThroughCache<String, List<Theater>> theaterLists;
+    private ReadThroughCache<String, Optional<Theater>> theatersById;
+
+    @PostConstruct
+    void createCaches() {
+        theaterLists = catalogCache.create("theaterLists");
+        theatersById = catalogCache.create("theaters");
+    }
+
+    // one cached page per cursor, size and selection; writes drop them all
+    public CursorPage<Theater> getAllTheaters(String after, int limit, FieldSelection.Fields<Theater> fields) {
+        int pageSize = CursorPage.clampLimit(limit);
+        String start = CursorPage.startAfter(after);
+        String key = ACTIVE + '|' + start + '|' + pageSize + (fields == null ? "" : '|' + fields.key());
+        List<Theater> theaters = theaterLists.get(key, k -> fields == null
+                ? theaterRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(start, Limit.of(pageSize + 1))
+                : theaterRepository.findActiveWithFields(start, Limit.of(pageSize + 1), fields.mongoFields()));
+        return CursorPage.of(theaters, pageSize, Theater::getId);
     }
 
     public Optional<Theater> getTheaterById(String id) {
-        return theaterRepository.findById(id);
+        return theatersById.get(id, theaterRepository::findById);
     }
 
-    public List<Theater> getTheatersByCity(String city) {
-        return theaterRepository.findByCityAndIsActiveTrue(city);
+    public CursorPage<Theater> getTheatersByCity(String city, String after, int limit, FieldSelection.Fields<Theater> fields) {
+        int pageSize = CursorPage.clampLimit(limit);
+        String start = CursorPage.startAfter(after);
+        String key = CITY + city + '|' + start + '|' + pageSize + (fields == null ? "" : '|' + fields.key());
+        List<Theater> theaters = theaterLists.get(key, k -> fields == null
+                ? theaterRepository.findByCityAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(city, start, Limit.of(pageSize + 1))
+                : theaterRepository.findActiveByCityWithFields(city, start, Limit.of(pageSize + 1), fields.mongoFields()));
+        return CursorPage.of(theaters, pageSize, Theater::getId);
     }
 
     public Theater createTheater(Theater theater) {
         theater.setCreatedAt(LocalDateTime.now());
         theater.setUpdatedAt(LocalDateTime.now());
         theater.setActive(true);
-        return theaterRepository.save(theater);
+        Theater savedTheater = theaterRepository.save(theater);
+        invalidate(savedTheater.getId());
+        return savedTheater;
     }
 
     public Theater updateTheater(String id, Theater theaterDetails) {
@@ -48,7 +84,9 @@ public class TheaterService {
             existingTheater.setScreens(theaterDetails.getScreens());
             existingTheater.setAmenities(theaterDetails.getAmenities());
             existingTheater.setUpdatedAt(LocalDateTime.now());
-            return theaterRepository.save(existingTheater);
+            Theater savedTheater = theaterRepository.save(existingTheater);
+            invalidate(id);
+            return savedTheater;
         }
         return null;
     }
@@ -60,8 +98,15 @@ public class TheaterService {
             existingTheater.setActive(false);
             existingTheater.setUpdatedAt(LocalDateTime.now());
             theaterRepository.save(existingTheater);
+            invalidate(id);
             return true;
         }
         return false;
     }
+
+    private void invalidate(String id) {
+        theatersById.invalidate(id);
+        theaterLists.invalidateAll();
+        suggestService.markDirty();
+    }
 } 
\ No newline at end of file
@@ -2,42 +2,101 @@
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.quickshow.backend.dto.BatchBookingResponse;
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.Ticket;
 import com.quickshow.backend.repository.TicketRepository;
 
 @Service
 public class TicketBookingService {
 
+    private static final Logger log = LoggerFactory.getLogger(TicketBookingService.class);
+
+    // tickets that hold their seats
+    static final List<String> LIVE_STATUSES = List.of("CONFIRMED", "PENDING");
+
     @Autowired
     private TicketRepository ticketRepository;
 
     @Autowired
     private ShowService showService;
 
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatEventBroadcaster seatEventBroadcaster;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Value("${quickshow.booking.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${quickshow.seats.reconcile-millis:30000}")
+    private long reconcileMillis;
+
+    // claims Mongo may hold with no ticket behind them; see reconcileUncertainClaims
+    private final ConcurrentLinkedQueue<UncertainClaim> uncertainClaims = new ConcurrentLinkedQueue<>();
+
+    public CursorPage<Ticket> getAllTickets(String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(ticketRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Ticket::getId);
     }
 
     public Optional<Ticket> getTicketById(String id) {
         return ticketRepository.findById(id);
     }
 
-    public List<Ticket> getTicketsByUser(String userId) {
-        return ticketRepository.findByUserId(userId);
+    public CursorPage<Ticket> getTicketsByUser(String userId, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(ticketRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Ticket::getId);
     }
 
-    public List<Ticket> getTicketsByShow(String showId) {
-        return ticketRepository.findByShowId(showId);
+    public CursorPage<Ticket> getTicketsByShow(String showId, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(ticketRepository.findByShowIdAndIdGreaterThanOrderByIdAsc(
+                showId, CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Ticket::getId);
     }
 
-    public List<Ticket> getTicketsByStatus(String bookingStatus) {
-        return ticketRepository.findByBookingStatus(bookingStatus);
+    public CursorPage<Ticket> getTicketsByStatus(String bookingStatus, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(ticketRepository.findByBookingStatusAndIdGreaterThanOrderByIdAsc(
+                bookingStatus, CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, Ticket::getId);
+    }
+
+    /**
+     * Checks a single booking before any seat is claimed, so a bad request is told apart from
+     * seats that are taken: at least one seat, no repeats, and every label in the show's hall.
+     */
+    public boolean isValidBooking(Ticket ticket) {
+        List<String> seats = seatInventoryService.normalize(ticket.getSeatNumbers());
+        return seats != null && !seats.isEmpty() && ticket.getTotalAmount() != null
+                && new HashSet<>(seats).size() == seats.size()
+                && seatInventoryService.seatsExist(ticket.getShowId(), seats);
     }
 
     public Ticket createTicket(Ticket ticket) {
@@ -49,39 +108,218 @@ public class TicketBookingService {
         ticket.setUpdatedAt(LocalDateTime.now());
         ticket.setBookingStatus("CONFIRMED");
         ticket.setPaymentStatus("PAID");
+        ticket.setSeatNumbers(seatInventoryService.normalize(ticket.getSeatNumbers()));
+        // the id owns the seat claim, so a claim whose ticket was never written can be traced
+        ticket.setId(new ObjectId().toHexString());
 
-        if (showService.updateAvailableSeats(ticket.getShowId(), numberOfSeats)) {
-            return ticketRepository.save(ticket);
+        if (!reserveSeats(ticket.getShowId(), ticket.getSeatNumbers(), List.of(ticket.getId()))) {
+            return null;
         }
-        return null;
+        Ticket savedTicket;
+        try {
+            savedTicket = ticketRepository.save(ticket);
+        } catch (RuntimeException e) {
+            cancelReservation(ticket.getShowId(), ticket.getSeatNumbers(), List.of(ticket.getId()));
+            throw e;
+        }
+        suggestService.recordBooking(savedTicket.getMovieId(), savedTicket.getTheaterId(), savedTicket.getSeatNumbers().size());
+        bookingMetrics.ticketsBooked(1);
+        return savedTicket;
     }
 
-    public Ticket updateTicket(String id, Ticket ticketDetails) {
-        Optional<Ticket> ticket = ticketRepository.findById(id);
-        if (ticket.isPresent()) {
-            Ticket existingTicket = ticket.get();
-            existingTicket.setSeatNumbers(ticketDetails.getSeatNumbers());
-            existingTicket.setTotalAmount(ticketDetails.getTotalAmount());
-            existingTicket.setBookingStatus(ticketDetails.getBookingStatus());
-            existingTicket.setPaymentStatus(ticketDetails.getPaymentStatus());
-            existingTicket.setPaymentMethod(ticketDetails.getPaymentMethod());
-            existingTicket.setUpdatedAt(LocalDateTime.now());
-            return ticketRepository.save(existingTicket);
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Books every ticket or none. Seats are claimed with one conditional update per show and
+     * the tickets are written with a single bulk insert; if any show cannot give up its seats,
+     * the shows already claimed are released again.
+     */
+    public BatchBookingResponse createTickets(List<Ticket> tickets) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BatchBookingResponse.Item> items = new ArrayList<>(tickets.size());
+        Map<String, List<String>> seatsByShow = new LinkedHashMap<>();
+        Map<String, Set<String>> seenByShow = new LinkedHashMap<>();
+        boolean valid = true;
+        for (int i = 0; i < tickets.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            List<String> seats = ticket == null ? null : seatInventoryService.normalize(ticket.getSeatNumbers());
+            String status = "NOT_BOOKED";
+            if (seats == null || seats.isEmpty() || ticket.getShowId() == null || ticket.getTotalAmount() == null
+                    || !seatInventoryService.seatsExist(ticket.getShowId(), seats)) {
+                status = "INVALID";
+            } else {
+                Set<String> seen = seenByShow.computeIfAbsent(ticket.getShowId(), id -> new HashSet<>());
+                for (String seat : seats) {
+                    if (!seen.add(seat)) {
+                        status = "DUPLICATE_SEAT";
+                    }
+                }
+                seatsByShow.computeIfAbsent(ticket.getShowId(), id -> new ArrayList<>()).addAll(seats);
+                ticket.setSeatNumbers(seats);
+                ticket.setBookingDate(now);
+                ticket.setCreatedAt(now);
+                ticket.setUpdatedAt(now);
+                ticket.setBookingStatus("CONFIRMED");
+                ticket.setPaymentStatus("PAID");
+            }
+            valid &= "NOT_BOOKED".equals(status);
+            items.add(new BatchBookingResponse.Item(i, status, null));
+        }
+        if (!valid) {
+            return new BatchBookingResponse(false, items);
+        }
+
+        // ids are assigned up front so a claim or bulk insert that fails halfway can be undone
+        Map<String, List<String>> ticketIdsByShow = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            ticket.setId(new ObjectId().toHexString());
+            ticketIdsByShow.computeIfAbsent(ticket.getShowId(), id -> new ArrayList<>()).add(ticket.getId());
+        }
+        List<String> claimedShows = new ArrayList<>();
+        for (Map.Entry<String, List<String>> show : seatsByShow.entrySet()) {
+            boolean reserved;
+            try {
+                reserved = reserveSeats(show.getKey(), show.getValue(), ticketIdsByShow.get(show.getKey()));
+            } catch (RuntimeException e) {
+                claimedShows.forEach(showId -> cancelReservation(showId, seatsByShow.get(showId), ticketIdsByShow.get(showId)));
+                throw e;
+            }
+            if (!reserved) {
+                claimedShows.forEach(showId -> cancelReservation(showId, seatsByShow.get(showId), ticketIdsByShow.get(showId)));
+                for (int i = 0; i < tickets.size(); i++) {
+                    if (tickets.get(i).getShowId().equals(show.getKey())) {
+                        items.get(i).setStatus("SEATS_UNAVAILABLE");
+                    }
+                }
+                return new BatchBookingResponse(false, items);
+            }
+            claimedShows.add(show.getKey());
+        }
+
+        List<Ticket> savedTickets;
+        try {
+            savedTickets = ticketRepository.insert(tickets);
+        } catch (RuntimeException e) {
+            claimedShows.forEach(showId -> cancelReservation(showId, seatsByShow.get(showId), ticketIdsByShow.get(showId)));
+            throw e;
+        }
+        for (int i = 0; i < savedTickets.size(); i++) {
+            Ticket saved = savedTickets.get(i);
+            items.get(i).setStatus("BOOKED");
+            items.get(i).setTicket(saved);
+            suggestService.recordBooking(saved.getMovieId(), saved.getTheaterId(), saved.getSeatNumbers().size());
+        }
+        bookingMetrics.ticketsBooked(savedTickets.size());
+        return new BatchBookingResponse(true, items);
+    }
+
+    /**
+     * Claims seats in this node's seat map first, then in Mongo, which has the final say.
+     * ticketIds are the not yet written tickets the seats are claimed for.
+     */
+    public boolean reserveSeats(String showId, List<String> seatNumbers, List<String> ticketIds) {
+        if (!seatInventoryService.claimSeats(showId, seatNumbers)) {
+            return false;
+        }
+        boolean claimed;
+        try {
+            claimed = showService.claimSeats(showId, seatNumbers);
+        } catch (RuntimeException e) {
+            // Mongo may or may not have applied it; free the seats here and let Mongo arbitrate the retry
+            seatInventoryService.releaseSeats(showId, seatNumbers);
+            uncertainClaims.add(new UncertainClaim(showId, seatNumbers, ticketIds, System.currentTimeMillis()));
+            throw e;
+        }
+        if (!claimed) {
+            // Another replica got there first; rebuild this node's view from Mongo.
+            bookingMetrics.oversellDetected();
+            seatInventoryService.evict(showId);
+            return false;
+        }
+        seatEventBroadcaster.seatsClaimed(showId, seatNumbers);
+        return true;
+    }
+
+    public void releaseReservedSeats(String showId, List<String> seatNumbers) {
+        // Mongo refuses seats that are not booked, and then there is nothing to free here either
+        if (showService.releaseSeats(showId, seatNumbers)) {
+            seatInventoryService.releaseSeats(showId, seatNumbers);
+            seatEventBroadcaster.seatsReleased(showId, seatNumbers);
+        }
+    }
+
+    /**
+     * Undoes reserveSeats for tickets whose write failed. The write may still have landed, so the
+     * tickets are deleted before their seats go back; if that fails too, the reconciler finishes it.
+     */
+    public void cancelReservation(String showId, List<String> seatNumbers, List<String> ticketIds) {
+        try {
+            ticketRepository.deleteAllById(ticketIds);
+            releaseReservedSeats(showId, seatNumbers);
+        } catch (RuntimeException e) {
+            uncertainClaims.add(new UncertainClaim(showId, seatNumbers, ticketIds, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Frees seats that Mongo may still count as booked after a claim threw or could not be undone.
+     * A claim is reconciled once it has had a full period to settle: its tickets are deleted, and
+     * its seats are released unless a live ticket holds them, which means the claim never applied.
+     */
+    @Scheduled(initialDelayString = "${quickshow.seats.reconcile-millis:30000}",
+            fixedDelayString = "${quickshow.seats.reconcile-millis:30000}")
+    public void reconcileUncertainClaims() {
+        long settledBefore = System.currentTimeMillis() - reconcileMillis;
+        for (UncertainClaim claim : uncertainClaims) {
+            if (claim.recordedAt() > settledBefore) {
+                continue;
+            }
+            try {
+                ticketRepository.deleteAllById(claim.ticketIds());
+                Set<String> held = new HashSet<>();
+                for (Ticket ticket : ticketRepository.findByShowIdAndBookingStatusIn(claim.showId(), LIVE_STATUSES)) {
+                    if (ticket.getSeatNumbers() != null) {
+                        held.addAll(ticket.getSeatNumbers());
+                    }
+                }
+                if (claim.seatNumbers().stream().noneMatch(held::contains)) {
+                    releaseReservedSeats(claim.showId(), claim.seatNumbers());
+                }
+                uncertainClaims.remove(claim);
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile seat claim on show {}, retrying", claim.showId(), e);
+            }
         }
-        return null;
+    }
+
+    /**
+     * True if the update would move seats or change the booking status. Those only go through
+     * booking, holds and cancel, which keep the show's booked seats in step with the tickets.
+     */
+    public boolean changesSeatsOrStatus(Ticket existingTicket, Ticket ticketDetails) {
+        List<String> seats = ticketDetails.getSeatNumbers();
+        String status = ticketDetails.getBookingStatus();
+        List<String> existingSeats = existingTicket.getSeatNumbers() == null ? List.of() : existingTicket.getSeatNumbers();
+        return (seats != null && !new HashSet<>(seatInventoryService.normalize(seats)).equals(new HashSet<>(existingSeats)))
+                || (status != null && !status.equals(existingTicket.getBookingStatus()));
+    }
+
+    // Seats and status are left alone; see changesSeatsOrStatus.
+    public Ticket updateTicket(String id, Ticket ticketDetails) {
+        return ticketRepository.updatePaymentDetails(id, ticketDetails.getTotalAmount(),
+                ticketDetails.getPaymentStatus(), ticketDetails.getPaymentMethod());
     }
 
     public boolean cancelTicket(String id) {
         Optional<Ticket> ticket = ticketRepository.findById(id);
         if (ticket.isPresent()) {
             Ticket existingTicket = ticket.get();
-            existingTicket.setBookingStatus("CANCELLED");
-            existingTicket.setUpdatedAt(LocalDateTime.now());
-
-            int numberOfSeats = existingTicket.getSeatNumbers().size();
-            showService.updateAvailableSeats(existingTicket.getShowId(), -numberOfSeats);
-
-            ticketRepository.save(existingTicket);
+            if (ticketRepository.transitionBookingStatus(id, LIVE_STATUSES, "CANCELLED")) {
+                bookingMetrics.cancellation();
+                releaseReservedSeats(existingTicket.getShowId(), existingTicket.getSeatNumbers());
+            }
             return true;
         }
         return false;
@@ -90,9 +328,14 @@ public class TicketBookingService {
     public boolean deleteTicket(String id) {
         Optional<Ticket> ticket = ticketRepository.findById(id);
         if (ticket.isPresent()) {
+            // a live ticket is cancelled first so its seats go back on sale
+            cancelTicket(id);
             ticketRepository.deleteById(id);
             return true;
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private record UncertainClaim(String showId, List<String> seatNumbers, List<String> ticketIds, long recordedAt) {
+    }
+}
@@ -1,12 +1,13 @@
 package com.quickshow.backend.service;
 
+import com.quickshow.backend.dto.CursorPage;
 import com.quickshow.backend.model.User;
 import com.quickshow.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -15,8 +16,10 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<User> getAllUsers() {
-        return userRepository.findByIsActiveTrue();
+    public CursorPage<User> getAllUsers(String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return CursorPage.of(userRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                CursorPage.startAfter(after), Limit.of(pageSize + 1)), pageSize, User::getId);
     }
 
     public Optional<User> getUserById(String id) {
@@ -0,0 +1,248 @@
+package com.quickshow.backend.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.quickshow.backend.dto.CursorPage;
+import com.quickshow.backend.model.Show;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls every query method declared on the repositories (custom fragments included) against a
+ * real mongod with the declared indexes, captures the commands they send and explains each one.
+ * A winning plan with a COLLSCAN or an in-memory SORT fails the test, as does a repository query
+ * that MongoIndexManager's startup check does not cover. Skipped where Docker is not available.
+ */
+@DataMongoTest(properties = {
+        "spring.data.mongodb.database=quickshow_plans",
+        "quickshow.mongo.indexes.create=false",
+        "quickshow.mongo.indexes.verify-plans=false"
+})
+@Import({MongoIndexManager.class, RepositoryQueryPlanTest.CommandCapture.class})
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    // commands that have a query plan; inserts, getMores and index builds do not
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct",
+            "update", "delete", "findAndModify");
+    // session and routing fields the driver adds, which explain rejects or ignores
+    private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime", "$readPreference",
+            "txnNumber", "apiVersion", "apiStrict", "apiDeprecationErrors", "readConcern", "writeConcern");
+    private static final JsonWriterSettings EXACT = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexManager indexManager;
+
+    @BeforeEach
+    void createIndexes() {
+        indexManager.ensureIndexes();
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws Exception {
+        Map<String, String> badPlans = new TreeMap<>();
+        Set<String> queried = new TreeSet<>();
+        for (Object repository : context.getBeansOfType(Repository.class).values()) {
+            for (Class<?> repositoryInterface : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (!repositoryInterface.getPackageName().startsWith("com.quickshow")) {
+                    continue;
+                }
+                for (Method method : repositoryInterface.getMethods()) {
+                    if (!method.getDeclaringClass().getPackageName().startsWith("com.quickshow")
+                            || method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                        continue;
+                    }
+                    String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                    commands.clear();
+                    invoke(repository, method);
+                    for (BsonDocument command : commands) {
+                        if (!ReactiveCrudRepository.class.isAssignableFrom(repositoryInterface)) {
+                            queried.add(name);
+                        }
+                        Document explain = mongoTemplate.getDb().runCommand(
+                                new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")));
+                        List<Object> winningPlans = new ArrayList<>();
+                        collectWinningPlans(explain, winningPlans);
+                        if (winningPlans.stream().anyMatch(plan -> MongoIndexManager.hasStage(plan, "COLLSCAN")
+                                || MongoIndexManager.hasStage(plan, "SORT"))) {
+                            badPlans.put(name, command.toJson());
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(queried).as("repository methods that reached Mongo").isNotEmpty();
+        assertThat(badPlans).as("queries that scan the collection or sort in memory").isEmpty();
+        assertThat(indexManager.queryShapes().keySet())
+                .as("MongoIndexManager.queryShapes() should cover every repository query")
+                .containsAll(queried);
+    }
+
+    @Test
+    void startupPlanCheckFindsNoScans() {
+        assertThat(indexManager.findCollectionScans()).isEmpty();
+    }
+
+    private static void invoke(Object repository, Method method) throws Exception {
+        Parameter[] parameters = method.getParameters();
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            args[i] = sample(method, parameters[i]);
+        }
+        Object result;
+        try {
+            result = method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw new AssertionError(method + " failed with sample arguments", e.getCause());
+        }
+        if (result instanceof Stream<?> stream) {
+            try (stream) {
+                stream.findFirst();
+            }
+        } else if (result instanceof Publisher<?> publisher) {
+            Flux.from(publisher).collectList().block();
+        }
+    }
+
+    // one plausible value per parameter type; the plan depends on the shape of the filter, not the values
+    private static Object sample(Method method, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (type == String.class) {
+            return CursorPage.FIRST_ID;
+        }
+        if (type == int.class || type == Integer.class) {
+            return 10;
+        }
+        if (type == long.class || type == Long.class) {
+            return 1L;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return true;
+        }
+        if (type == LocalDate.class) {
+            return TODAY;
+        }
+        if (type == LocalDateTime.class) {
+            return TODAY.atStartOfDay();
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        if (type == Show.class) {
+            return sampleShow();
+        }
+        if (Collection.class.isAssignableFrom(type)
+                && parameter.getParameterizedType() instanceof ParameterizedType collection) {
+            return collection.getActualTypeArguments()[0] == Show.class ? List.of(sampleShow()) : List.of("A1");
+        }
+        throw new IllegalArgumentException("No sample value for " + parameter + " of " + method + "; add one to sample()");
+    }
+
+    private static Show sampleShow() {
+        Show show = new Show();
+        show.setMovieId("m");
+        show.setTheaterId("t");
+        show.setScreenNumber("1");
+        show.setShowDate(TODAY);
+        show.setShowTime(LocalTime.NOON);
+        show.setTicketPrice(BigDecimal.TEN);
+        show.setTotalSeats(100);
+        show.setAvailableSeats(100);
+        show.setBookedSeats(new ArrayList<>());
+        show.setShowType("2D");
+        show.setActive(true);
+        return show;
+    }
+
+    private static void collectWinningPlans(Object node, List<Object> plans) {
+        if (node instanceof Document document) {
+            document.forEach((key, value) -> {
+                if (key.equals("winningPlan")) {
+                    plans.add(value);
+                } else {
+                    collectWinningPlans(value, plans);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectWinningPlans(value, plans));
+        }
+    }
+
+    @TestConfiguration
+    static class CommandCapture {
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCapture() {
+            return settings -> settings.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    if (!EXPLAINABLE.contains(event.getCommandName())) {
+                        return;
+                    }
+                    // the event's document is backed by a buffer the driver reuses, so copy it
+                    BsonDocument command = BsonDocument.parse(event.getCommand().toJson(EXACT));
+                    DRIVER_FIELDS.forEach(command::remove);
+                    commands.add(command);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.quickshow.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedWheelTimerTest {
+
+    // small wheel so the longer delays below need more than one round
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 8, Runnable::run, "test-wheel");
+
+    @AfterEach
+    void stop() {
+        timer.stop();
+    }
+
+    @Test
+    void timeoutsFireAfterTheirDelayAndNotBefore() throws Exception {
+        timer.start();
+        CountDownLatch fired = new CountDownLatch(2);
+        long scheduled = System.nanoTime();
+        long[] firedAfterMillis = new long[2];
+        timer.schedule(() -> {
+            firedAfterMillis[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduled);
+            fired.countDown();
+        }, 30, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> {
+            firedAfterMillis[1] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduled);
+            fired.countDown();
+        }, 250, TimeUnit.MILLISECONDS);
+        assertThat(timer.getPendingTimeouts()).isEqualTo(2);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAfterMillis[0]).isGreaterThanOrEqualTo(30);
+        assertThat(firedAfterMillis[1]).isGreaterThanOrEqualTo(250);
+        assertThat(timer.getPendingTimeouts()).isZero();
+    }
+
+    @Test
+    void cancelledTimeoutsNeverRun() throws Exception {
+        timer.start();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+        HashedWheelTimer.Timeout cancelled = timer.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        timer.schedule(later::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs).hasValue(0);
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(timer.getPendingTimeouts()).isZero();
+    }
+
+    @Test
+    void cancelAfterFiringReportsThatTheTaskRan() throws Exception {
+        timer.start();
+        CountDownLatch fired = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+}
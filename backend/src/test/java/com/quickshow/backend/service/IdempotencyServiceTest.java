@@ -0,0 +1,115 @@
+package com.quickshow.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyService idempotencyService = new IdempotencyService();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void createService() {
+        ReflectionTestUtils.setField(idempotencyService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "mongoTemplate", mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(idempotencyService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(idempotencyService, "store", "memory");
+        ReflectionTestUtils.setField(idempotencyService, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(idempotencyService, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(idempotencyService, "waitMillis", 5000L);
+        ReflectionTestUtils.setField(idempotencyService, "lockSeconds", 60L);
+        idempotencyService.createStore();
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheFirstResponseWithoutRunningAgain() {
+        ResponseEntity<String> first = book("key-1", List.of("A1"));
+        ResponseEntity<String> retry = book("key-1", List.of("A1"));
+
+        assertThat(runs).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getStatusCode()).isEqualTo(first.getStatusCode());
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        book("key-1", List.of("A1"));
+
+        assertThat(book("key-1", List.of("A2")).getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void aFailedRequestLeavesTheKeyFreeForTheRetry() {
+        assertThatThrownBy(() -> idempotencyService.execute("key-1", "POST /tickets", List.of("A1"), String.class, () -> {
+            throw new IllegalStateException("Mongo unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(book("key-1", List.of("A1")).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void aRetryArrivingWhileTheFirstRequestRunsWaitsForItsResponse() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("key-1", "POST /tickets", List.of("A1"), String.class, () -> {
+                    running.countDown();
+                    await(finish);
+                    runs.incrementAndGet();
+                    return ResponseEntity.ok("ticket-1");
+                }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResponseEntity<String>> retry = CompletableFuture.supplyAsync(() -> book("key-1", List.of("A1")));
+        Thread.sleep(200); // let the retry find the key in flight
+
+        finish.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("ticket-1");
+        ResponseEntity<String> replayed = retry.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getBody()).isEqualTo("ticket-1");
+        assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void requestsWithoutAKeyAlwaysRun() {
+        book(null, List.of("A1"));
+        book(null, List.of("A1"));
+
+        assertThat(runs).hasValue(2);
+    }
+
+    private ResponseEntity<String> book(String key, List<String> seats) {
+        return idempotencyService.execute(key, "POST /tickets", seats, String.class,
+                () -> ResponseEntity.ok("ticket-" + runs.incrementAndGet()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.inmemory.InMemoryTicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The sweep that backs up the timing wheel, over holds this node never scheduled.
+ */
+class SeatHoldServiceTest {
+
+    @Test
+    void sweepExpiresEveryOverdueHoldAcrossPagesAndLeavesOpenOnes() {
+        InMemoryTicketRepository tickets = new InMemoryTicketRepository();
+        TicketBookingService bookingService = mock(TicketBookingService.class);
+        SeatHoldService holdService = new SeatHoldService();
+        ReflectionTestUtils.setField(holdService, "ticketRepository", tickets);
+        ReflectionTestUtils.setField(holdService, "ticketBookingService", bookingService);
+        ReflectionTestUtils.setField(holdService, "sweepPageSize", 2);
+
+        LocalDateTime now = LocalDateTime.now();
+        String first = tickets.save(hold("A1", now.minusMinutes(3))).getId();
+        String second = tickets.save(hold("A2", now.minusMinutes(2))).getId();
+        String third = tickets.save(hold("A3", now.minusMinutes(1))).getId();
+        String open = tickets.save(hold("A4", now.plusMinutes(5))).getId();
+
+        holdService.sweepExpiredHolds();
+
+        for (String id : List.of(first, second, third)) {
+            assertThat(tickets.findById(id).orElseThrow().getBookingStatus()).isEqualTo("EXPIRED");
+        }
+        assertThat(tickets.findById(open).orElseThrow().getBookingStatus()).isEqualTo("PENDING");
+        verify(bookingService).releaseReservedSeats("show", List.of("A1"));
+        verify(bookingService).releaseReservedSeats("show", List.of("A2"));
+        verify(bookingService).releaseReservedSeats("show", List.of("A3"));
+        verify(bookingService, never()).releaseReservedSeats("show", List.of("A4"));
+    }
+
+    private static Ticket hold(String seat, LocalDateTime expiresAt) {
+        Ticket hold = new Ticket();
+        hold.setShowId("show");
+        hold.setSeatNumbers(List.of(seat));
+        hold.setBookingStatus("PENDING");
+        hold.setHoldExpiresAt(expiresAt);
+        return hold;
+    }
+}
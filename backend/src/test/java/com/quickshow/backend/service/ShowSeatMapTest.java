@@ -0,0 +1,99 @@
+package com.quickshow.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShowSeatMapTest {
+
+    @Test
+    void concurrentClaimsNeverGiveASeatToTwoCallers() throws Exception {
+        // wide enough that most claims span several stripes
+        ShowSeatMap seatMap = new ShowSeatMap(1000, 25);
+        AtomicIntegerArray winners = new AtomicIntegerArray(1000);
+        AtomicLong successfulClaims = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 5000; i++) {
+                    List<String> seats = new ArrayList<>();
+                    for (int s = random.nextInt(1, 5); s > 0; s--) {
+                        String seat = seatMap.labelOf(random.nextInt(1000));
+                        if (!seats.contains(seat)) {
+                            seats.add(seat);
+                        }
+                    }
+                    int[] indexes = seatMap.toIndexes(seats);
+                    if (seatMap.claim(indexes)) {
+                        successfulClaims.incrementAndGet();
+                        for (int index : indexes) {
+                            winners.incrementAndGet(index);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        int claimed = 0;
+        for (int index = 0; index < 1000; index++) {
+            assertThat(winners.get(index)).as("claims won on seat %s", seatMap.labelOf(index)).isLessThanOrEqualTo(1);
+            assertThat(seatMap.isClaimed(index)).isEqualTo(winners.get(index) == 1);
+            claimed += winners.get(index);
+        }
+        assertThat(seatMap.getClaimedSeats()).isEqualTo(claimed);
+        assertThat(seatMap.getVersion()).isEqualTo(successfulClaims.get());
+        ShowSeatMap.Snapshot snapshot = seatMap.snapshot();
+        assertThat(snapshot.version()).isEqualTo(successfulClaims.get());
+        for (int index = 0; index < 1000; index++) {
+            boolean bit = (snapshot.bitmap()[index >>> 3] & (1 << (index & 7))) != 0;
+            assertThat(bit).isEqualTo(seatMap.isClaimed(index));
+        }
+    }
+
+    @Test
+    void releasedSeatsCanBeClaimedAgainAndShowUpInTheChangeLog() {
+        ShowSeatMap seatMap = new ShowSeatMap(100, 10);
+        int[] pair = seatMap.toIndexes(List.of("A1", "A2"));
+
+        assertThat(seatMap.claim(pair)).isTrue();
+        assertThat(seatMap.claim(seatMap.toIndexes(List.of("A2", "A3")))).isFalse();
+        seatMap.release(seatMap.toIndexes(List.of("A1")));
+        assertThat(seatMap.claim(seatMap.toIndexes(List.of("A1", "A3")))).isTrue();
+
+        assertThat(seatMap.getAvailableSeats()).isEqualTo(97);
+        List<ShowSeatMap.Change> changes = seatMap.changesSince(0);
+        assertThat(changes).extracting(ShowSeatMap.Change::version).containsExactly(1L, 2L, 3L);
+        assertThat(changes).extracting(ShowSeatMap.Change::claimed).containsExactly(true, false, true);
+        assertThat(seatMap.changesSince(3)).isEmpty();
+    }
+
+    @Test
+    void malformedOrRepeatedSeatsAreRejectedUpFront() {
+        ShowSeatMap seatMap = new ShowSeatMap(100, 10);
+
+        assertThat(seatMap.toIndexes(List.of("A1", "a1"))).isNull();
+        assertThat(seatMap.toIndexes(List.of("A11"))).isNull();
+        assertThat(seatMap.toIndexes(List.of("K1"))).isNull();
+        assertThat(seatMap.toIndexes(List.of("B7"))).containsExactly(16);
+    }
+}
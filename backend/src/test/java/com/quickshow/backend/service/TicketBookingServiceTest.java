@@ -0,0 +1,216 @@
+package com.quickshow.backend.service;
+
+import com.quickshow.backend.dto.BatchBookingResponse;
+import com.quickshow.backend.model.Show;
+import com.quickshow.backend.model.Ticket;
+import com.quickshow.backend.repository.TicketRepository;
+import com.quickshow.backend.repository.inmemory.InMemoryShowRepository;
+import com.quickshow.backend.repository.inmemory.InMemoryTicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * reserveSeats against two replicas that share one show store. InMemoryShowRepository stands in
+ * for Mongo: its claimSeats is the same guarded update, so it has the final say on every seat.
+ */
+class TicketBookingServiceTest {
+
+    private static final int TOTAL_SEATS = 40;
+
+    private InMemoryShowRepository mongo;
+    private String showId;
+
+    @BeforeEach
+    void createShow() {
+        mongo = spy(new InMemoryShowRepository());
+        Show show = new Show();
+        show.setTotalSeats(TOTAL_SEATS);
+        show.setAvailableSeats(TOTAL_SEATS);
+        show.setBookedSeats(new ArrayList<>());
+        show.setActive(true);
+        showId = mongo.save(show).getId();
+    }
+
+    @Test
+    void concurrentReservationsOnTwoReplicasNeverSellASeatTwice() throws Exception {
+        List<TicketBookingService> replicas = List.of(replica(), replica());
+        ConcurrentLinkedQueue<String> sold = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> bookings = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            TicketBookingService replica = replicas.get(i % replicas.size());
+            bookings.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int first = random.nextInt(TOTAL_SEATS);
+                List<String> seats = new ArrayList<>(List.of(ShowSeatMap.label(first, 10)));
+                int second = random.nextInt(TOTAL_SEATS);
+                if (second != first) {
+                    seats.add(ShowSeatMap.label(second, 10));
+                }
+                if (replica.reserveSeats(showId, seats, List.of("ticket-" + seats))) {
+                    sold.addAll(seats);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> booking : bookings) {
+            booking.get();
+        }
+        pool.shutdown();
+
+        assertThat(sold).isNotEmpty();
+        assertThat(new HashSet<>(sold)).hasSameSizeAs(sold);
+        Show stored = mongo.findById(showId).orElseThrow();
+        assertThat(stored.getBookedSeats()).containsExactlyInAnyOrderElementsOf(sold);
+        assertThat(stored.getAvailableSeats()).isEqualTo(TOTAL_SEATS - sold.size());
+    }
+
+    @Test
+    void localClaimIsUndoneWhenTheMongoClaimThrows() {
+        SeatEventBroadcaster broadcaster = mock(SeatEventBroadcaster.class);
+        TicketBookingService bookingService = replica(broadcaster);
+        SeatInventoryService inventory = (SeatInventoryService) ReflectionTestUtils.getField(bookingService, "seatInventoryService");
+        List<String> seats = List.of("A1", "A2");
+        doThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .when(mongo).claimSeats(eq(showId), anyList());
+
+        assertThatThrownBy(() -> bookingService.reserveSeats(showId, seats, List.of("t1")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        ShowSeatMap seatMap = inventory.getSeatMap(showId).orElseThrow();
+        assertThat(seatMap.isClaimed(seatMap.indexOf("A1"))).isFalse();
+        assertThat(seatMap.isClaimed(seatMap.indexOf("A2"))).isFalse();
+        verify(broadcaster, never()).seatsClaimed(eq(showId), anyList());
+
+        // once Mongo is back the same seats can be booked
+        doCallRealMethod().when(mongo).claimSeats(eq(showId), anyList());
+        assertThat(bookingService.reserveSeats(showId, seats, List.of("t2"))).isTrue();
+        assertThat(mongo.findById(showId).orElseThrow().getBookedSeats()).containsExactlyInAnyOrder("A1", "A2");
+    }
+
+    @Test
+    void claimAppliedBeforeTheCallThrewIsReleasedByTheReconciler() {
+        TicketBookingService bookingService = replica();
+        ReflectionTestUtils.setField(bookingService, "ticketRepository", new InMemoryTicketRepository());
+        ReflectionTestUtils.setField(bookingService, "reconcileMillis", 0L);
+        List<String> seats = List.of("B1", "B2");
+        doAnswer(invocation -> {
+            invocation.callRealMethod();
+            throw new DataAccessResourceFailureException("socket closed after write");
+        }).when(mongo).claimSeats(eq(showId), anyList());
+
+        assertThatThrownBy(() -> bookingService.reserveSeats(showId, seats, List.of("t1")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(mongo.findById(showId).orElseThrow().getBookedSeats()).containsExactlyInAnyOrder("B1", "B2");
+
+        bookingService.reconcileUncertainClaims();
+
+        Show stored = mongo.findById(showId).orElseThrow();
+        assertThat(stored.getBookedSeats()).isEmpty();
+        assertThat(stored.getAvailableSeats()).isEqualTo(TOTAL_SEATS);
+    }
+
+    @Test
+    void reconcilerLeavesSeatsThatALiveTicketHolds() {
+        TicketBookingService bookingService = replica();
+        InMemoryTicketRepository tickets = new InMemoryTicketRepository();
+        ReflectionTestUtils.setField(bookingService, "ticketRepository", tickets);
+        ReflectionTestUtils.setField(bookingService, "reconcileMillis", 0L);
+        List<String> seats = List.of("C1");
+        doThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .when(mongo).claimSeats(eq(showId), anyList());
+        assertThatThrownBy(() -> bookingService.reserveSeats(showId, seats, List.of("t1")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        // the claim never applied and another booking got the seat
+        doCallRealMethod().when(mongo).claimSeats(eq(showId), anyList());
+        assertThat(bookingService.reserveSeats(showId, seats, List.of("t2"))).isTrue();
+        Ticket ticket = new Ticket();
+        ticket.setShowId(showId);
+        ticket.setSeatNumbers(seats);
+        ticket.setBookingStatus("CONFIRMED");
+        tickets.save(ticket);
+
+        bookingService.reconcileUncertainClaims();
+
+        assertThat(mongo.findById(showId).orElseThrow().getBookedSeats()).containsExactly("C1");
+    }
+
+    @Test
+    void seatLabelsOutsideTheHallAreInvalidRatherThanUnavailable() {
+        TicketBookingService bookingService = replica();
+        Ticket good = new Ticket();
+        good.setShowId(showId);
+        good.setSeatNumbers(List.of("A1"));
+        good.setTotalAmount(BigDecimal.TEN);
+        Ticket outsideHall = new Ticket();
+        outsideHall.setShowId(showId);
+        outsideHall.setSeatNumbers(List.of("Z99"));
+        outsideHall.setTotalAmount(BigDecimal.TEN);
+
+        BatchBookingResponse response = bookingService.createTickets(List.of(good, outsideHall));
+
+        assertThat(response.isBooked()).isFalse();
+        assertThat(response.getItems()).extracting(BatchBookingResponse.Item::getStatus)
+                .containsExactly("NOT_BOOKED", "INVALID");
+        assertThat(bookingService.isValidBooking(outsideHall)).isFalse();
+        assertThat(bookingService.isValidBooking(good)).isTrue();
+        assertThat(mongo.findById(showId).orElseThrow().getBookedSeats()).isEmpty();
+    }
+
+    private TicketBookingService replica() {
+        return replica(mock(SeatEventBroadcaster.class));
+    }
+
+    // one node: its own seat map and services, over the shared store
+    private TicketBookingService replica(SeatEventBroadcaster broadcaster) {
+        BookingMetrics bookingMetrics = mock(BookingMetrics.class);
+
+        SeatInventoryService inventory = new SeatInventoryService();
+        ReflectionTestUtils.setField(inventory, "showRepository", mongo);
+        ReflectionTestUtils.setField(inventory, "ticketRepository", mock(TicketRepository.class));
+        ReflectionTestUtils.setField(inventory, "bookingMetrics", bookingMetrics);
+        ReflectionTestUtils.setField(inventory, "seatsPerRow", 10);
+        ReflectionTestUtils.setField(inventory, "recheckMillis", 0L);
+
+        ShowService showService = new ShowService();
+        ReflectionTestUtils.setField(showService, "showRepository", mongo);
+        ReflectionTestUtils.setField(showService, "bookingMetrics", bookingMetrics);
+        ReflectionTestUtils.setField(showService, "seatClaimMode", "atomic");
+
+        TicketBookingService bookingService = new TicketBookingService();
+        ReflectionTestUtils.setField(bookingService, "showService", showService);
+        ReflectionTestUtils.setField(bookingService, "seatInventoryService", inventory);
+        ReflectionTestUtils.setField(bookingService, "seatEventBroadcaster", broadcaster);
+        ReflectionTestUtils.setField(bookingService, "bookingMetrics", bookingMetrics);
+        return bookingService;
+    }
+}
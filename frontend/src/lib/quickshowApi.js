@@ -33,6 +33,18 @@ const withFallback = async (requestFn, fallbackFn) => {
   return fallbackFn();
 };
 
+// List endpoints return { items, nextCursor, hasMore }; follow the cursor until the last page.
+const fetchAllPages = async (url, params = {}) => {
+  const items = [];
+  let after;
+  do {
+    const { data } = await http.get(url, { params: { ...params, after, limit: 200 } });
+    items.push(...data.items);
+    after = data.hasMore ? data.nextCursor : undefined;
+  } while (after);
+  return items;
+};
+
 const enrichShow = (show) => {
   const bookings = fetchBookingsStore().filter(
     (booking) => booking.showId === show.id && booking.bookingStatus !== 'CANCELLED',
@@ -45,9 +57,10 @@ const enrichShow = (show) => {
 };
 
 export const movieApi = {
-  list: () =>
+  // fields: optional projection such as 'summary,description' (see the API's ?fields=)
+  list: (fields) =>
     withFallback(
-      async () => (await http.get('/movies')).data,
+      async () => fetchAllPages('/movies', fields ? { fields } : {}),
       () => deepClone(mockMovies),
     ),
   get: (id) =>
@@ -66,7 +79,7 @@ export const movieApi = {
     if (!query) return fallback();
 
     return withFallback(
-      async () => (await http.get(`/movies/search`, { params: { title: query } })).data,
+      async () => (await http.get(`/movies/search`, { params: { q: query } })).data,
       fallback,
     );
   },
@@ -75,7 +88,7 @@ export const movieApi = {
 export const showApi = {
   forMovieAndDate: (movieId, isoDate) =>
     withFallback(
-      async () => (await http.get(`/shows/movie/${movieId}/date/${isoDate}`)).data,
+      async () => fetchAllPages(`/shows/movie/${movieId}/date/${isoDate}`),
       () =>
         deepClone(
           mockShows.filter(
@@ -98,18 +111,22 @@ export const theaterApi = {
   list: () => deepClone(mockTheaters),
 };
 
+// A retry carrying the same Idempotency-Key replays the first response instead of booking again.
+export const newIdempotencyKey = () => crypto.randomUUID();
+
 export const bookingApi = {
   listByUser: (userId = DEFAULT_USER_ID) =>
     withFallback(
-      async () => (await http.get(`/tickets/user/${userId}`)).data,
+      async () => fetchAllPages(`/tickets/user/${userId}`),
       () =>
         deepClone(
           fetchBookingsStore().filter((booking) => booking.userId === userId),
         ),
     ),
-  create: async (payload) =>
+  create: async (payload, idempotencyKey) =>
     withFallback(
-      async () => (await http.post('/tickets', payload)).data,
+      async () =>
+        (await http.post('/tickets', payload, { headers: { 'Idempotency-Key': idempotencyKey } })).data,
       () => {
         const show = mockShows.find((item) => item.id === payload.showId);
         if (!show) {
@@ -132,7 +149,10 @@ export const bookingApi = {
     ),
   cancel: (bookingId) =>
     withFallback(
-      async () => (await http.put(`/tickets/${bookingId}/cancel`)).data,
+      async () =>
+        (await http.put(`/tickets/${bookingId}/cancel`, null, {
+          headers: { 'Idempotency-Key': `cancel-${bookingId}` },
+        })).data,
       () => {
         const updated = fetchBookingsStore().map((booking) =>
           booking.id === bookingId
@@ -145,6 +165,33 @@ export const bookingApi = {
     ),
 };
 
+// Turns the backend's base64 seat bitset (bit i = i-th seat, row by row) into seat labels.
+const decodeSeatMap = ({ seats, seatsPerRow, totalSeats }) => {
+  const bytes = atob(seats || '');
+  const rowLabel = (row) => {
+    let label = '';
+    for (let n = row + 1; n > 0; n = Math.floor((n - 1) / 26)) {
+      label = String.fromCharCode(65 + ((n - 1) % 26)) + label;
+    }
+    return label;
+  };
+  const taken = [];
+  for (let i = 0; i < totalSeats; i++) {
+    if (bytes.charCodeAt(i >> 3) & (1 << (i & 7))) {
+      taken.push(`${rowLabel(Math.floor(i / seatsPerRow))}${(i % seatsPerRow) + 1}`);
+    }
+  }
+  return taken;
+};
+
+export const seatApi = {
+  bookedSeats: (showId) =>
+    withFallback(
+      async () => decodeSeatMap((await http.get(`/shows/${showId}/seats`)).data),
+      () => getBookedSeatsForShow(showId),
+    ),
+};
+
 export const getDefaultUserId = () => DEFAULT_USER_ID;
 
 export const getBookedSeatsForShow = (showId) =>
@@ -14,7 +14,7 @@ const Movies = () => {
     const fetchMovies = async () => {
       setLoading(true);
       try {
-        const data = await movieApi.list();
+        const data = await movieApi.list('summary,description');
         setMovies(data);
       } catch (error) {
         console.error('Unable to load movies', error);
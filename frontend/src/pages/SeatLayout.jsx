@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useCallback } from 'react';
+import React, { useState, useEffect, useCallback, useMemo } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { ArrowLeft, CreditCard } from 'lucide-react';
 import toast from 'react-hot-toast';
@@ -6,8 +6,9 @@ import {
   showApi,
   movieApi,
   bookingApi,
+  seatApi,
   getDefaultUserId,
-  getBookedSeatsForShow,
+  newIdempotencyKey,
 } from '../lib/quickshowApi';
 
 const SeatLayout = () => {
@@ -19,6 +20,8 @@ const SeatLayout = () => {
   const [loading, setLoading] = useState(true);
   const [bookingLoading, setBookingLoading] = useState(false);
   const [bookedSeats, setBookedSeats] = useState([]);
+  // kept while the selection is unchanged, so "try again" after a lost response cannot book twice
+  const bookingKey = useMemo(() => newIdempotencyKey(), [selectedSeats]);
 
   const fetchShowDetails = useCallback(async () => {
     try {
@@ -29,7 +32,7 @@ const SeatLayout = () => {
       setShow(showData);
       const movieData = await movieApi.get(showData.movieId);
       setMovie(movieData);
-      setBookedSeats(getBookedSeatsForShow(showId));
+      setBookedSeats(await seatApi.bookedSeats(showId));
       setSelectedSeats([]);
     } catch (error) {
       console.error('Error fetching show details:', error);
@@ -104,7 +107,7 @@ const SeatLayout = () => {
         paymentMethod: 'CREDIT_CARD',
       };
 
-      await bookingApi.create(bookingData);
+      await bookingApi.create(bookingData, bookingKey);
       toast.success('Booking successful!');
       setBookedSeats([...bookedSeats, ...selectedSeats]);
       navigate('/my-bookings');